@@ -0,0 +1,158 @@
+package co.udistrital.academia.benchmarks;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga de lazo cerrado contra una instancia en ejecución: N clientes concurrentes
+ * repiten las rutas indicadas (en rotación) durante el tiempo dado, y al final se imprimen
+ * peticiones por segundo y latencias p50/p99. No es un benchmark JMH; se ejecuta con
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar co.udistrital.academia.benchmarks.CargaHttp \
+ *     http://localhost:8090 400 30 /api/calificaciones/page?size=50 /api/estudiantes
+ * </pre>
+ *
+ * Argumentos: url base, clientes concurrentes, segundos de medición y rutas. Antes de medir
+ * inicia sesión como administrador y calienta el servidor durante 10 segundos.
+ */
+public class CargaHttp {
+
+    private static final String CORREO = "admin@academia.ud";
+    private static final String PASSWORD = "Admin123*";
+    private static final int CALENTAMIENTO_SEGUNDOS = 10;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Uso: CargaHttp <url-base> <clientes> <segundos> <ruta>...");
+            System.exit(1);
+        }
+        String base = args[0];
+        int clientes = Integer.parseInt(args[1]);
+        int segundos = Integer.parseInt(args[2]);
+        List<String> rutas = Arrays.asList(args).subList(3, args.length);
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(8))
+                .build();
+        String token = login(http, base);
+
+        ejecutar(http, base, token, rutas, clientes, CALENTAMIENTO_SEGUNDOS);
+        Resultado r = ejecutar(http, base, token, rutas, clientes, segundos);
+
+        System.out.printf("clientes=%d segundos=%d peticiones=%d errores=%d%n",
+                clientes, segundos, r.latencias.length, r.errores);
+        System.out.printf("throughput=%.1f req/s p50=%.1f ms p99=%.1f ms max=%.1f ms%n",
+                r.latencias.length / (double) segundos,
+                percentil(r.latencias, 0.50), percentil(r.latencias, 0.99), percentil(r.latencias, 1.0));
+        System.exit(0);
+    }
+
+    private static String login(HttpClient http, String base) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"correo\":\"" + CORREO + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        String cuerpo = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher m = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"").matcher(cuerpo);
+        if (!m.find()) {
+            throw new IllegalStateException("Login fallido: " + cuerpo);
+        }
+        return m.group(1);
+    }
+
+    private static Resultado ejecutar(HttpClient http, String base, String token, List<String> rutas,
+                                      int clientes, int segundos) throws InterruptedException {
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        List<Cliente> lista = new ArrayList<>(clientes);
+        ExecutorService hilos = Executors.newFixedThreadPool(clientes);
+        for (int i = 0; i < clientes; i++) {
+            Cliente cliente = new Cliente(http, base, token, rutas, i, fin);
+            lista.add(cliente);
+            hilos.submit(cliente);
+        }
+        hilos.shutdown();
+        hilos.awaitTermination(segundos + 60L, TimeUnit.SECONDS);
+
+        int total = lista.stream().mapToInt(c -> c.cantidad).sum();
+        long[] latencias = new long[total];
+        int pos = 0;
+        int errores = 0;
+        for (Cliente c : lista) {
+            System.arraycopy(c.latencias, 0, latencias, pos, c.cantidad);
+            pos += c.cantidad;
+            errores += c.errores;
+        }
+        Arrays.sort(latencias);
+        return new Resultado(latencias, errores);
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+    }
+
+    private record Resultado(long[] latencias, int errores) {
+    }
+
+    private static class Cliente implements Runnable {
+        private final HttpClient http;
+        private final List<HttpRequest> requests = new ArrayList<>();
+        private final long fin;
+        private int siguiente;
+        long[] latencias = new long[1024];
+        int cantidad;
+        int errores;
+
+        Cliente(HttpClient http, String base, String token, List<String> rutas, int inicio, long fin) {
+            this.http = http;
+            this.fin = fin;
+            this.siguiente = inicio;
+            for (String ruta : rutas) {
+                requests.add(HttpRequest.newBuilder(URI.create(base + ruta))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(60))
+                        .GET()
+                        .build());
+            }
+        }
+
+        @Override
+        public void run() {
+            while (System.nanoTime() < fin) {
+                HttpRequest request = requests.get(siguiente++ % requests.size());
+                long inicio = System.nanoTime();
+                try {
+                    HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() != 200) {
+                        errores++;
+                        continue;
+                    }
+                } catch (Exception e) {
+                    errores++;
+                    continue;
+                }
+                if (cantidad == latencias.length) {
+                    latencias = Arrays.copyOf(latencias, cantidad * 2);
+                }
+                latencias[cantidad++] = System.nanoTime() - inicio;
+            }
+        }
+    }
+}
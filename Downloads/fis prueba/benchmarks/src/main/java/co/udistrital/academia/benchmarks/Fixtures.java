@@ -0,0 +1,146 @@
+package co.udistrital.academia.benchmarks;
+
+import co.udistrital.academia.config.JwtTokenProvider;
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.EstadisticaEstudiante;
+import co.udistrital.academia.dto.EstudianteBoletin;
+import co.udistrital.academia.dto.PromedioPeriodo;
+import co.udistrital.academia.entity.Calificacion;
+import co.udistrital.academia.entity.Estudiante;
+import co.udistrital.academia.entity.Grupo;
+import co.udistrital.academia.entity.Logro;
+import co.udistrital.academia.entity.Usuario;
+import co.udistrital.academia.service.EstadisticaService;
+import co.udistrital.academia.util.PdfGenerator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Construcción de componentes del backend sin levantar el contexto de Spring.
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET =
+            "academia-ud-jwt-secret-key-2024-this-is-a-very-long-secure-key-for-hs512-algorithm-minimum-64-characters";
+
+    private Fixtures() {
+    }
+
+    static JwtTokenProvider jwtTokenProvider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", 86400000L);
+        ReflectionTestUtils.setField(provider, "jwtRefreshExpirationInMs", 604800000L);
+        ReflectionTestUtils.setField(provider, "claimsCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    // Las métricas de render se registran igual que en la aplicación, en un registro en memoria
+    static PdfGenerator pdfGenerator() {
+        PdfGenerator generator = new PdfGenerator();
+        ReflectionTestUtils.setField(generator, "meterRegistry", new SimpleMeterRegistry());
+        return generator;
+    }
+
+    static Estudiante estudiante() {
+        return Estudiante.builder()
+                .id(1L)
+                .nombre("Sofía")
+                .apellido("Ruiz Herrera")
+                .grado("Párvulos")
+                .regCivil("RC-100000")
+                .grupo(Grupo.builder().id(1L).nombre("Párvulos A").grado("Párvulos").capacidad(10).build())
+                .build();
+    }
+
+    /**
+     * Grupo activo con profesor y la cantidad indicada de estudiantes, para el listado PDF.
+     */
+    static Grupo grupoConEstudiantes(int cantidad) {
+        Grupo grupo = Grupo.builder()
+                .id(1L)
+                .nombre("Párvulos A")
+                .grado("Párvulos")
+                .capacidad(cantidad)
+                .estado(Grupo.EstadoGrupo.ACTIVO)
+                .profesor(Usuario.builder().id(2L).nombre("Marta Isabel").rol(Usuario.Rol.PROFESOR).build())
+                .build();
+        for (int i = 0; i < cantidad; i++) {
+            grupo.getEstudiantes().add(Estudiante.builder()
+                    .id((long) i + 1)
+                    .nombre("Estudiante " + (i + 1))
+                    .apellido("Apellido " + (i + 1))
+                    .grado("Párvulos")
+                    .regCivil("RC-" + (100000 + i))
+                    .grupo(grupo)
+                    .build());
+        }
+        return grupo;
+    }
+
+    /**
+     * Calificaciones de un año completo: 4 periodos con un logro por categoría y valores variados.
+     */
+    static List<Calificacion> calificaciones(Estudiante estudiante, int logrosPorPeriodo) {
+        Logro.Categoria[] categorias = Logro.Categoria.values();
+        List<Calificacion> calificaciones = new ArrayList<>();
+        for (int periodo = 1; periodo <= 4; periodo++) {
+            for (int i = 0; i < logrosPorPeriodo; i++) {
+                Logro logro = Logro.builder()
+                        .id((long) i + 1)
+                        .nombre("Logro " + (i + 1))
+                        .categoria(categorias[i % categorias.length])
+                        .build();
+                calificaciones.add(Calificacion.builder()
+                        .valor(1.0 + (periodo * 7 + i) % 40 / 10.0)
+                        .periodo(periodo)
+                        .logro(logro)
+                        .estudiante(estudiante)
+                        .build());
+            }
+        }
+        return calificaciones;
+    }
+
+    static EstudianteBoletin estudianteBoletin(Estudiante estudiante) {
+        return new EstudianteBoletin(estudiante.getId(), estudiante.getNombre(), estudiante.getApellido(),
+                estudiante.getGrado(), estudiante.getGrupo().getNombre());
+    }
+
+    /**
+     * Las mismas calificaciones como filas de la consulta de boletines.
+     */
+    static List<CalificacionFila> filas(List<Calificacion> calificaciones) {
+        List<CalificacionFila> filas = new ArrayList<>(calificaciones.size());
+        for (Calificacion cal : calificaciones) {
+            Estudiante est = cal.getEstudiante();
+            Logro logro = cal.getLogro();
+            filas.add(new CalificacionFila(cal.getId(), cal.getValor(), cal.getPeriodo(),
+                    logro.getId(), logro.getNombre(), logro.getDescripcion(), logro.getCategoria(), logro.getEstado(),
+                    est.getId(), est.getNombre(), est.getApellido(), est.getGrado(), est.getRegCivil(),
+                    est.getEstado(), "Profesor"));
+        }
+        return filas;
+    }
+
+    /**
+     * El agregado que devolvería la consulta GROUP BY estudiante, periodo.
+     */
+    static EstadisticaEstudiante estadistica(Long estudianteId, List<Calificacion> calificaciones) {
+        Map<Integer, DoubleSummaryStatistics> porPeriodo = calificaciones.stream()
+                .collect(Collectors.groupingBy(Calificacion::getPeriodo, TreeMap::new,
+                        Collectors.summarizingDouble(Calificacion::getValor)));
+        List<PromedioPeriodo> periodos = new ArrayList<>();
+        porPeriodo.forEach((periodo, s) -> periodos.add(new PromedioPeriodo(estudianteId, periodo,
+                s.getCount(), s.getAverage(), s.getMin(), s.getMax())));
+        return EstadisticaService.resumir(estudianteId, periodos);
+    }
+}
@@ -0,0 +1,88 @@
+package co.udistrital.academia.benchmarks;
+
+import co.udistrital.academia.AcademiaUdApplication;
+import co.udistrital.academia.entity.Calificacion;
+import co.udistrital.academia.entity.Estudiante;
+import co.udistrital.academia.entity.Logro;
+import co.udistrital.academia.repository.CalificacionRepository;
+import co.udistrital.academia.repository.EstudianteRepository;
+import co.udistrital.academia.repository.LogroRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Importación masiva de calificaciones con el contexto Spring real (perfil dev, H2 en memoria):
+ * inserta N calificaciones con saveAll en transacciones de 1000 filas y reporta filas por segundo.
+ * No es un benchmark JMH. Los argumentos después de la cantidad se pasan a Spring, por ejemplo
+ * para comparar sin lotes JDBC:
+ *
+ * <pre>
+ * java -cp "target/classes:$(cat target/classpath.txt)" co.udistrital.academia.benchmarks.ImportacionCalificaciones \
+ *     100000 --spring.jpa.properties.hibernate.jdbc.batch_size=0
+ * </pre>
+ */
+public class ImportacionCalificaciones {
+
+    private static final int POR_TRANSACCION = 1000;
+    private static final int REPETICIONES = 3;
+
+    public static void main(String[] args) {
+        int cantidad = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.profiles.active=dev",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.co.udistrital.academia=WARN"));
+        for (int i = 1; i < args.length; i++) {
+            argumentos.add(args[i]);
+        }
+
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(AcademiaUdApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos.toArray(String[]::new))) {
+            List<Estudiante> estudiantes = ctx.getBean(EstudianteRepository.class).findAll().stream()
+                    .filter(e -> e.getGrupo() != null)
+                    .toList();
+            List<Logro> logros = ctx.getBean(LogroRepository.class).findAll();
+            CalificacionRepository repository = ctx.getBean(CalificacionRepository.class);
+            EntityManager em = ctx.getBean(EntityManager.class);
+            TransactionTemplate tx = ctx.getBean(TransactionTemplate.class);
+
+            // La primera pasada calienta el JIT y el pool de conexiones
+            for (int r = 0; r <= REPETICIONES; r++) {
+                long inicio = System.nanoTime();
+                for (int desde = 0; desde < cantidad; desde += POR_TRANSACCION) {
+                    int hasta = Math.min(desde + POR_TRANSACCION, cantidad);
+                    int base = desde;
+                    int repeticion = r;
+                    tx.executeWithoutResult(status -> {
+                        List<Calificacion> bloque = new ArrayList<>(hasta - base);
+                        for (int i = base; i < hasta; i++) {
+                            Estudiante estudiante = estudiantes.get(i % estudiantes.size());
+                            bloque.add(Calificacion.builder()
+                                    .valor(1.0 + (i % 41) / 10.0)
+                                    .periodo(3 + repeticion * 4 + i % 4)
+                                    .logro(logros.get(i % logros.size()))
+                                    .estudiante(estudiante)
+                                    .profesor(estudiante.getGrupo().getProfesor())
+                                    .build());
+                        }
+                        repository.saveAll(bloque);
+                        em.flush();
+                        em.clear();
+                    });
+                }
+                double segundos = (System.nanoTime() - inicio) / 1e9;
+                System.out.printf("%s%d filas en %.2f s: %.0f filas/s%n",
+                        r == 0 ? "(calentamiento) " : "", cantidad, segundos, cantidad / segundos);
+            }
+        }
+    }
+}
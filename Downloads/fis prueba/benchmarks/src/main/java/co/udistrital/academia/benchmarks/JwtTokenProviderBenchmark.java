@@ -0,0 +1,65 @@
+package co.udistrital.academia.benchmarks;
+
+import co.udistrital.academia.config.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la validación de un token por petición:
+ * la ruta anterior (tres verificaciones HMAC, un parser nuevo en cada una)
+ * contra parseAndValidate con y sin cache de claims. También mide la emisión de un token (login).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider cachedProvider;
+    private JwtTokenProvider uncachedProvider;
+    private SecretKey key;
+    private String token;
+
+    @Setup
+    public void setup() {
+        cachedProvider = Fixtures.jwtTokenProvider(10000);
+        uncachedProvider = Fixtures.jwtTokenProvider(0);
+        key = Keys.hmacShaKeyFor(Fixtures.JWT_SECRET.getBytes(StandardCharsets.UTF_8));
+        token = cachedProvider.generateTokenFromUsername("acudiente1@correo.com", "ACUDIENTE", 42L);
+    }
+
+    @Benchmark
+    public void legacyTriplePass(Blackhole bh) {
+        Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+
+        Claims subjectClaims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        bh.consume(subjectClaims.getSubject());
+
+        Claims idClaims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        bh.consume(idClaims.get("usuarioId", Long.class));
+    }
+
+    @Benchmark
+    public Object parseAndValidateUncached() {
+        return uncachedProvider.parseAndValidate(token);
+    }
+
+    @Benchmark
+    public Object parseAndValidateCached() {
+        return cachedProvider.parseAndValidate(token);
+    }
+
+    @Benchmark
+    public String generarToken() {
+        return uncachedProvider.generateTokenFromUsername("acudiente1@correo.com", "ACUDIENTE", 42L);
+    }
+}
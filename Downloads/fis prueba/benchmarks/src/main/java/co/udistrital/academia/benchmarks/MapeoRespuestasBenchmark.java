@@ -0,0 +1,99 @@
+package co.udistrital.academia.benchmarks;
+
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.CalificacionResponse;
+import co.udistrital.academia.dto.EstudianteSimpleResponse;
+import co.udistrital.academia.dto.GrupoResponse;
+import co.udistrital.academia.dto.GrupoResumen;
+import co.udistrital.academia.entity.Calificacion;
+import co.udistrital.academia.entity.Estudiante;
+import co.udistrital.academia.entity.Grupo;
+import co.udistrital.academia.entity.Usuario;
+import co.udistrital.academia.service.CalificacionService;
+import co.udistrital.academia.service.GrupoService;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión a DTO de las respuestas más frecuentes: CalificacionService.toResponse desde la fila
+ * de la consulta y desde la entidad, y GrupoService.convertirAGrupoResponse con sus estudiantes.
+ * Los métodos son privados y se invocan con MethodHandle constantes, que el JIT enlaza como una
+ * llamada directa. Con -prof gc, gc.alloc.rate.norm da los bytes asignados por conversión.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapeoRespuestasBenchmark {
+
+    private static final MethodHandle CALIFICACION_DESDE_FILA;
+    private static final MethodHandle CALIFICACION_DESDE_ENTIDAD;
+    private static final MethodHandle GRUPO;
+
+    static {
+        try {
+            MethodHandles.Lookup calificaciones = MethodHandles.privateLookupIn(CalificacionService.class, MethodHandles.lookup());
+            CALIFICACION_DESDE_FILA = calificaciones.findVirtual(CalificacionService.class, "toResponse",
+                    MethodType.methodType(CalificacionResponse.class, CalificacionFila.class));
+            CALIFICACION_DESDE_ENTIDAD = calificaciones.findVirtual(CalificacionService.class, "toResponse",
+                    MethodType.methodType(CalificacionResponse.class, Calificacion.class));
+            GRUPO = MethodHandles.privateLookupIn(GrupoService.class, MethodHandles.lookup())
+                    .findVirtual(GrupoService.class, "convertirAGrupoResponse",
+                            MethodType.methodType(GrupoResponse.class, GrupoResumen.class, List.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Param({"25"})
+    private int estudiantesPorGrupo;
+
+    private CalificacionService calificacionService;
+    private GrupoService grupoService;
+    private CalificacionFila fila;
+    private Calificacion calificacion;
+    private GrupoResumen grupoResumen;
+    private List<EstudianteSimpleResponse> estudiantes;
+
+    @Setup
+    public void setup() {
+        calificacionService = new CalificacionService();
+        grupoService = new GrupoService();
+
+        Estudiante estudiante = Fixtures.estudiante();
+        calificacion = Fixtures.calificaciones(estudiante, 1).get(0);
+        calificacion.setId(1L);
+        calificacion.setProfesor(Usuario.builder().id(2L).nombre("Marta Isabel").rol(Usuario.Rol.PROFESOR).build());
+        fila = Fixtures.filas(List.of(calificacion)).get(0);
+
+        Grupo grupo = Fixtures.grupoConEstudiantes(estudiantesPorGrupo);
+        grupoResumen = new GrupoResumen(grupo.getId(), grupo.getNombre(), grupo.getGrado(), grupo.getCapacidad(),
+                grupo.getEstado(), grupo.getProfesor().getNombre(), (long) estudiantesPorGrupo);
+        estudiantes = grupo.getEstudiantes().stream()
+                .map(e -> new EstudianteSimpleResponse(e.getId(), e.getNombre(), e.getApellido(), e.getGrado(),
+                        e.getRegCivil(), e.getEstado().name()))
+                .toList();
+    }
+
+    @Benchmark
+    public CalificacionResponse calificacionDesdeFila() throws Throwable {
+        return (CalificacionResponse) CALIFICACION_DESDE_FILA.invokeExact(calificacionService, fila);
+    }
+
+    @Benchmark
+    public CalificacionResponse calificacionDesdeEntidad() throws Throwable {
+        return (CalificacionResponse) CALIFICACION_DESDE_ENTIDAD.invokeExact(calificacionService, calificacion);
+    }
+
+    @Benchmark
+    public GrupoResponse grupo() throws Throwable {
+        return (GrupoResponse) GRUPO.invokeExact(grupoService, grupoResumen, estudiantes);
+    }
+}
@@ -0,0 +1,47 @@
+package co.udistrital.academia.benchmarks;
+
+import co.udistrital.academia.config.SecurityConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificación de contraseña en el login (PasswordEncoder.matches) con cada configuración
+ * de password.*. Un solo hilo, así que el resultado en ops/s equivale a logins por segundo por núcleo.
+ * La configuración se indica como "bcrypt-costo" o "argon2-memoriaKb-iteraciones-paralelismo".
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Acud123*";
+
+    @Param({"bcrypt-10", "bcrypt-11", "bcrypt-12", "argon2-19456-2-1", "argon2-65536-3-1"})
+    private String configuracion;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        String[] partes = configuracion.split("-");
+        if (partes[0].equals("bcrypt")) {
+            encoder = SecurityConfig.crearPasswordEncoder("bcrypt", Integer.parseInt(partes[1]), 19456, 2, 1);
+        } else {
+            encoder = SecurityConfig.crearPasswordEncoder("argon2", 12,
+                    Integer.parseInt(partes[1]), Integer.parseInt(partes[2]), Integer.parseInt(partes[3]));
+        }
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches(PASSWORD, hash);
+    }
+}
@@ -0,0 +1,73 @@
+package co.udistrital.academia.benchmarks;
+
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.EstadisticaEstudiante;
+import co.udistrital.academia.dto.EstudianteBoletin;
+import co.udistrital.academia.entity.Calificacion;
+import co.udistrital.academia.entity.Estudiante;
+import co.udistrital.academia.entity.Grupo;
+import co.udistrital.academia.util.PdfGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generación de un boletín anual (4 periodos): PdfGenerator con recursos compartidos
+ * contra la copia anterior que creaba fuentes, colores y bordes en cada documento y celda.
+ * El generador actual recibe las filas de la consulta y los promedios ya agregados en la base de datos;
+ * la copia anterior sigue trabajando con entidades y calculando los promedios en memoria.
+ * También mide el listado de un grupo con estudiantesPorGrupo estudiantes.
+ * Las asignaciones por documento se leen en la columna gc.alloc.rate.norm del perfilador gc:
+ * java -jar target/benchmarks.jar PdfGeneratorBenchmark -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfGeneratorBenchmark {
+
+    @Param({"12"})
+    private int logrosPorPeriodo;
+
+    @Param({"25"})
+    private int estudiantesPorGrupo;
+
+    private PdfGenerator generator;
+    private LegacyPdfGenerator legacyGenerator;
+    private Estudiante estudiante;
+    private List<Calificacion> calificaciones;
+    private EstudianteBoletin estudianteBoletin;
+    private List<CalificacionFila> filas;
+    private EstadisticaEstudiante estadistica;
+    private Grupo grupo;
+
+    @Setup
+    public void setup() {
+        generator = Fixtures.pdfGenerator();
+        legacyGenerator = new LegacyPdfGenerator();
+        estudiante = Fixtures.estudiante();
+        calificaciones = Fixtures.calificaciones(estudiante, logrosPorPeriodo);
+        estudianteBoletin = Fixtures.estudianteBoletin(estudiante);
+        filas = Fixtures.filas(calificaciones);
+        estadistica = Fixtures.estadistica(estudiante.getId(), calificaciones);
+        grupo = Fixtures.grupoConEstudiantes(estudiantesPorGrupo);
+    }
+
+    @Benchmark
+    public byte[] legacyBoletin() {
+        return legacyGenerator.generarBoletin(estudiante, calificaciones, null);
+    }
+
+    @Benchmark
+    public byte[] boletin() {
+        return generator.generarBoletin(estudianteBoletin, filas, null, estadistica);
+    }
+
+    @Benchmark
+    public byte[] listadoGrupo() {
+        return generator.generarListadoGrupo(grupo);
+    }
+}
@@ -0,0 +1,316 @@
+package co.udistrital.academia.benchmarks;
+
+import co.udistrital.academia.AcademiaUdApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Prueba de carga de extremo a extremo: levanta la aplicación con el perfil dev (H2 en memoria) y un
+ * conjunto de datos escalado por GeneradorDatos, inicia sesión con usuarios generados de cada rol y
+ * ejecuta una mezcla de operaciones con N clientes concurrentes en lazo cerrado:
+ * acudientes consultando notas y descargando boletines, profesores registrando planillas y descargando
+ * listados, y administradores listando grupos y estadísticas. Al final imprime, por endpoint,
+ * peticiones por segundo y latencias p50/p95/p99.
+ *
+ * <pre>
+ * mvn compile exec:java -Dcarga.estudiantes=20000 -Dcarga.clientes=32 -Dcarga.segundos=60
+ * </pre>
+ *
+ * Propiedades (todas opcionales): carga.estudiantes, carga.clientes, carga.segundos,
+ * carga.calentamiento (segundos), carga.usuarios (por rol), carga.semilla y carga.mezcla, con el
+ * peso relativo de cada operación, por ejemplo "notas=45,boletin=10,planilla=15,listado=5,grupos=15,estadisticas=10".
+ */
+public class PruebaCargaMixta {
+
+    private static final String MEZCLA_POR_DEFECTO = "notas=45,boletin=10,planilla=15,listado=5,grupos=15,estadisticas=10";
+    private static final int PERIODOS = 4;
+
+    private final int estudiantes = Integer.getInteger("carga.estudiantes", 20_000);
+    private final int clientes = Integer.getInteger("carga.clientes", 32);
+    private final int segundos = Integer.getInteger("carga.segundos", 60);
+    private final int calentamiento = Integer.getInteger("carga.calentamiento", 15);
+    private final int usuariosPorRol = Integer.getInteger("carga.usuarios", 20);
+    private final long semilla = Long.getLong("carga.semilla", 42L);
+    private final String mezcla = System.getProperty("carga.mezcla", MEZCLA_POR_DEFECTO);
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private String base;
+
+    public static void main(String[] args) throws Exception {
+        new PruebaCargaMixta().ejecutar();
+    }
+
+    private void ejecutar() throws Exception {
+        try (ConfigurableApplicationContext ctx = levantar()) {
+            base = "http://localhost:" + ctx.getEnvironment().getProperty("local.server.port");
+            List<Operacion> operaciones = operaciones(ctx.getBean(JdbcTemplate.class));
+
+            System.out.printf("Calentamiento: %d s con %d clientes%n", calentamiento, clientes);
+            medir(operaciones, calentamiento);
+            System.out.printf("Medición: %d s con %d clientes%n", segundos, clientes);
+            imprimir(medir(operaciones, segundos));
+        }
+    }
+
+    private ConfigurableApplicationContext levantar() {
+        System.out.printf("Levantando la aplicación con %d estudiantes generados...%n", estudiantes);
+        // Como argumentos y no como properties(): deben prevalecer sobre application.properties y el yml de dev
+        return new SpringApplicationBuilder(AcademiaUdApplication.class)
+                .profiles("dev")
+                .run("--server.port=0",
+                        "--generador.estudiantes=" + estudiantes,
+                        "--generador.semilla=" + semilla,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.format_sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.co.udistrital.academia=WARN",
+                        "--logging.level.org.springframework.security=WARN",
+                        // Las planillas de grupos completos superan el presupuesto SQL por defecto: un aviso por petición
+                        "--logging.level.co.udistrital.academia.config.MetricasPeticionFilter=ERROR",
+                        // Todos los clientes salen de la misma IP: sin esto los logins reciben 429
+                        "--login.limite.ip.capacidad=1000000",
+                        "--login.limite.ip.por-minuto=1000000");
+    }
+
+    /**
+     * Usuarios de cada rol con sus datos (hijos, grupo y estudiantes) leídos de la base generada.
+     */
+    private List<Operacion> operaciones(JdbcTemplate jdbc) throws Exception {
+        List<Long> logros = jdbc.queryForList("SELECT id FROM logro", Long.class);
+        List<Long> grupos = jdbc.queryForList("SELECT id FROM grupo WHERE estado = 'ACTIVO'", Long.class);
+
+        List<Sesion> acudientes = new ArrayList<>();
+        for (Map<String, Object> fila : jdbc.queryForList(
+                "SELECT id, correo FROM usuario WHERE correo LIKE '%@carga.correo.com' ORDER BY id LIMIT ?", usuariosPorRol)) {
+            List<Long> hijos = jdbc.queryForList("SELECT id FROM estudiante WHERE acudiente_id = ?", Long.class, fila.get("id"));
+            acudientes.add(new Sesion(login((String) fila.get("correo"), "Acud123*"), null, hijos));
+        }
+
+        List<Sesion> profesores = new ArrayList<>();
+        for (Map<String, Object> fila : jdbc.queryForList(
+                "SELECT g.id, u.correo FROM grupo g JOIN usuario u ON u.id = g.profesor_id " +
+                        "WHERE u.correo LIKE '%@carga.academia.ud' ORDER BY g.id LIMIT ?", usuariosPorRol)) {
+            Long grupoId = ((Number) fila.get("id")).longValue();
+            List<Long> alumnos = jdbc.queryForList("SELECT id FROM estudiante WHERE grupo_id = ?", Long.class, grupoId);
+            profesores.add(new Sesion(login((String) fila.get("correo"), "Prof123*"), grupoId, alumnos));
+        }
+
+        String admin = login("admin@academia.ud", "Admin123*");
+        if (acudientes.isEmpty() || profesores.isEmpty()) {
+            throw new IllegalStateException("No se encontraron usuarios generados; revise carga.estudiantes");
+        }
+
+        Map<String, Function<Random, HttpRequest>> todas = new LinkedHashMap<>();
+        todas.put("notas", r -> {
+            Sesion s = elegir(r, acudientes);
+            return get(s.token, "/api/calificaciones?estudianteId=" + elegir(r, s.estudiantes));
+        });
+        todas.put("boletin", r -> {
+            Sesion s = elegir(r, acudientes);
+            return get(s.token, "/api/calificaciones/reporte/boletin?estudianteId=" + elegir(r, s.estudiantes)
+                    + "&periodo=" + (1 + r.nextInt(PERIODOS)));
+        });
+        todas.put("planilla", r -> {
+            Sesion s = elegir(r, profesores);
+            return post(s.token, "/api/calificaciones/batch", planilla(r, s, logros));
+        });
+        todas.put("listado", r -> {
+            Sesion s = elegir(r, profesores);
+            return get(s.token, "/api/grupos/" + s.grupoId + "/listado.pdf");
+        });
+        todas.put("grupos", r -> get(admin, "/api/grupos/page?size=20&page=" + r.nextInt(Math.max(1, grupos.size() / 20))));
+        todas.put("estadisticas", r -> get(admin, "/api/calificaciones/estadisticas/grupo/" + elegir(r, grupos)
+                + "?periodo=" + (1 + r.nextInt(PERIODOS))));
+
+        List<Operacion> operaciones = new ArrayList<>();
+        for (String parte : mezcla.split(",")) {
+            String[] claveValor = parte.trim().split("=");
+            Function<Random, HttpRequest> peticion = todas.get(claveValor[0]);
+            if (peticion == null) {
+                throw new IllegalArgumentException("Operación desconocida en carga.mezcla: " + claveValor[0]);
+            }
+            operaciones.add(new Operacion(claveValor[0], Integer.parseInt(claveValor[1]), peticion));
+        }
+        return operaciones;
+    }
+
+    // Planilla de un periodo: un logro al azar para todos los estudiantes del grupo. Dos clientes con
+    // el mismo grupo pueden enviar la misma celda a la vez; la restricción única de calificacion
+    // rechaza la segunda con 409, que aquí no cuenta como error
+    private String planilla(Random r, Sesion s, List<Long> logros) {
+        long logro = elegir(r, logros);
+        String filas = s.estudiantes.stream()
+                .map(id -> String.format(Locale.ROOT, "{\"estudianteId\":%d,\"valores\":{\"%d\":%.1f}}", id, logro, 1.0 + r.nextInt(41) / 10.0))
+                .collect(Collectors.joining(","));
+        return String.format("{\"grupoId\":%d,\"periodo\":%d,\"estudiantes\":[%s]}", s.grupoId, 1 + r.nextInt(PERIODOS), filas);
+    }
+
+    private Map<String, Registro> medir(List<Operacion> operaciones, int duracion) throws InterruptedException {
+        int pesoTotal = operaciones.stream().mapToInt(Operacion::peso).sum();
+        long fin = System.nanoTime() + TimeUnit.SECONDS.toNanos(duracion);
+        List<Map<String, Registro>> porCliente = new ArrayList<>();
+        ExecutorService hilos = Executors.newFixedThreadPool(clientes);
+        for (int c = 0; c < clientes; c++) {
+            Map<String, Registro> registros = new HashMap<>();
+            porCliente.add(registros);
+            Random random = new Random(semilla + c);
+            hilos.submit(() -> {
+                while (System.nanoTime() < fin) {
+                    Operacion op = elegirOperacion(random, operaciones, pesoTotal);
+                    HttpRequest request = op.peticion.apply(random);
+                    long inicio = System.nanoTime();
+                    boolean ok;
+                    try {
+                        int codigo = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        ok = codigo / 100 == 2 || (codigo == 409 && op.nombre().equals("planilla"));
+                    } catch (Exception e) {
+                        ok = false;
+                    }
+                    registros.computeIfAbsent(etiqueta(op, request), k -> new Registro())
+                            .agregar(System.nanoTime() - inicio, ok);
+                }
+            });
+        }
+        hilos.shutdown();
+        hilos.awaitTermination(duracion + 120L, TimeUnit.SECONDS);
+
+        Map<String, Registro> total = new LinkedHashMap<>();
+        for (Map<String, Registro> registros : porCliente) {
+            registros.forEach((clave, r) -> total.computeIfAbsent(clave, k -> new Registro()).sumar(r));
+        }
+        return total;
+    }
+
+    private void imprimir(Map<String, Registro> registros) {
+        System.out.printf("%n%-64s %8s %8s %7s %9s %9s %9s%n", "Endpoint", "Req", "Req/s", "Errores", "p50 ms", "p95 ms", "p99 ms");
+        Registro total = new Registro();
+        registros.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> {
+                    imprimirFila(e.getKey(), e.getValue());
+                    total.sumar(e.getValue());
+                });
+        imprimirFila("TOTAL", total);
+    }
+
+    private void imprimirFila(String nombre, Registro r) {
+        long[] ordenadas = Arrays.copyOf(r.latencias, r.cantidad);
+        Arrays.sort(ordenadas);
+        System.out.printf("%-64s %8d %8.1f %7d %9.1f %9.1f %9.1f%n", nombre, r.cantidad, r.cantidad / (double) segundos,
+                r.errores, percentil(ordenadas, 0.50), percentil(ordenadas, 0.95), percentil(ordenadas, 0.99));
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1_000_000.0;
+    }
+
+    // Método y ruta sin parámetros ni ids, para agrupar por endpoint
+    private static String etiqueta(Operacion op, HttpRequest request) {
+        String ruta = request.uri().getPath().replaceAll("/\\d+", "/{id}");
+        return request.method() + " " + ruta + " (" + op.nombre + ")";
+    }
+
+    private static Operacion elegirOperacion(Random random, List<Operacion> operaciones, int pesoTotal) {
+        int valor = random.nextInt(pesoTotal);
+        for (Operacion op : operaciones) {
+            valor -= op.peso;
+            if (valor < 0) {
+                return op;
+            }
+        }
+        return operaciones.get(operaciones.size() - 1);
+    }
+
+    private static <T> T elegir(Random random, List<T> lista) {
+        return lista.get(random.nextInt(lista.size()));
+    }
+
+    private String login(String correo, String password) throws Exception {
+        HttpRequest request = post(null, "/api/auth/login",
+                "{\"correo\":\"" + correo + "\",\"password\":\"" + password + "\"}");
+        String cuerpo = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher m = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"").matcher(cuerpo);
+        if (!m.find()) {
+            throw new IllegalStateException("Login fallido para " + correo + ": " + cuerpo);
+        }
+        return m.group(1);
+    }
+
+    private HttpRequest get(String token, String ruta) {
+        return HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String token, String ruta, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(base + ruta))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private record Sesion(String token, Long grupoId, List<Long> estudiantes) {
+    }
+
+    private record Operacion(String nombre, int peso, Function<Random, HttpRequest> peticion) {
+    }
+
+    private static class Registro {
+        long[] latencias = new long[256];
+        int cantidad;
+        int errores;
+
+        void agregar(long nanos, boolean ok) {
+            if (!ok) {
+                errores++;
+                return;
+            }
+            if (cantidad == latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad * 2);
+            }
+            latencias[cantidad++] = nanos;
+        }
+
+        void sumar(Registro otro) {
+            if (cantidad + otro.cantidad > latencias.length) {
+                latencias = Arrays.copyOf(latencias, cantidad + otro.cantidad);
+            }
+            System.arraycopy(otro.latencias, 0, latencias, cantidad, otro.cantidad);
+            cantidad += otro.cantidad;
+            errores += otro.errores;
+        }
+    }
+}
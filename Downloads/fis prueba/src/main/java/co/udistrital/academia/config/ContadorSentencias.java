@@ -0,0 +1,71 @@
+package co.udistrital.academia.config;
+
+import co.udistrital.academia.exception.PresupuestoSqlExcedidoException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual mientras hay un conteo activo
+ * (una petición HTTP, ver MetricasPeticionFilter). Hibernate lo instancia por la propiedad
+ * hibernate.session_factory.statement_inspector; no modifica el SQL.
+ *
+ * Con un presupuesto en modo rechazo (PresupuestoSqlInterceptor), la primera sentencia que lo
+ * supera lanza PresupuestoSqlExcedidoException y la transacción se revierte.
+ */
+public class ContadorSentencias implements StatementInspector {
+
+    private static final ThreadLocal<Conteo> CONTEO = new ThreadLocal<>();
+
+    private static class Conteo {
+        int sentencias;
+        int maximo = Integer.MAX_VALUE;
+        boolean rechazar;
+        String endpoint;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Conteo conteo = CONTEO.get();
+        if (conteo != null && ++conteo.sentencias > conteo.maximo && conteo.rechazar) {
+            throw new PresupuestoSqlExcedidoException(conteo.endpoint, conteo.maximo);
+        }
+        return sql;
+    }
+
+    public static void iniciar() {
+        CONTEO.set(new Conteo());
+    }
+
+    /**
+     * Fija el presupuesto del conteo activo; sin conteo activo no hace nada.
+     */
+    public static void limitar(String endpoint, int maximo, boolean rechazar) {
+        Conteo conteo = CONTEO.get();
+        if (conteo != null) {
+            conteo.endpoint = endpoint;
+            conteo.maximo = maximo;
+            conteo.rechazar = rechazar;
+        }
+    }
+
+    /**
+     * Sentencias contadas desde iniciar(), o 0 si no hay conteo activo.
+     */
+    public static int actual() {
+        Conteo conteo = CONTEO.get();
+        return conteo != null ? conteo.sentencias : 0;
+    }
+
+    /**
+     * Presupuesto del conteo activo, o Integer.MAX_VALUE si no tiene.
+     */
+    public static int maximo() {
+        Conteo conteo = CONTEO.get();
+        return conteo != null ? conteo.maximo : Integer.MAX_VALUE;
+    }
+
+    public static int detener() {
+        int total = actual();
+        CONTEO.remove();
+        return total;
+    }
+}
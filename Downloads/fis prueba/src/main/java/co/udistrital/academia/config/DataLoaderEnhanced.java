@@ -2,6 +2,7 @@ package co.udistrital.academia.config;
 
 import co.udistrital.academia.entity.*;
 import co.udistrital.academia.repository.*;
+import co.udistrital.academia.service.ResumenCalificacionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,6 +15,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
 
@@ -26,6 +28,9 @@ public class DataLoaderEnhanced {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private ResumenCalificacionService resumenCalificacionService;
+
     private final String[] nombres = {"Juan", "María", "Pedro", "Ana", "Luis", "Carmen", "José", "Laura", "Carlos", "Isabel",
             "Miguel", "Rosa", "Antonio", "Patricia", "Francisco", "Lucía", "Manuel", "Elena", "David", "Marta",
             "Javier", "Sara", "Daniel", "Paula", "Alejandro", "Sofía", "Fernando", "Andrea", "Ricardo", "Claudia"};
@@ -63,12 +68,14 @@ public class DataLoaderEnhanced {
             logger.info("✅ Admin creado");
 
             // 2. CREAR 15 PROFESORES
+            // Cada contraseña compartida se hashea una sola vez (un hash bcrypt cuesta ~0,3 s)
+            String passwordProfesor = passwordEncoder.encode("Prof123*");
             List<Usuario> profesores = new ArrayList<>();
             for (int i = 0; i < 15; i++) {
                 Usuario profesor = Usuario.builder()
                         .nombre(getNombreCompleto())
                         .correo("profesor" + (i + 1) + "@academia.ud")
-                        .password(passwordEncoder.encode("Prof123*"))
+                        .password(passwordProfesor)
                         .rol(Usuario.Rol.PROFESOR)
                         .estado(true)
                         .build();
@@ -77,12 +84,13 @@ public class DataLoaderEnhanced {
             logger.info("✅ 15 profesores creados");
 
             // 3. CREAR 35 ACUDIENTES
+            String passwordAcudiente = passwordEncoder.encode("Acud123*");
             List<Usuario> acudientes = new ArrayList<>();
             for (int i = 0; i < 35; i++) {
                 Usuario acudiente = Usuario.builder()
                         .nombre(getNombreCompleto())
                         .correo("acudiente" + (i + 1) + "@correo.com")
-                        .password(passwordEncoder.encode("Acud123*"))
+                        .password(passwordAcudiente)
                         .rol(Usuario.Rol.ACUDIENTE)
                         .estado(true)
                         .build();
@@ -126,21 +134,24 @@ public class DataLoaderEnhanced {
                                 .acudiente(acudiente)
                                 .grupo(grupo)
                                 .build();
-                        estudiantes.add(estudianteRepository.save(estudiante));
+                        estudiantes.add(estudiante);
                         estudianteCount++;
                     }
                 }
             }
+            // saveAll guarda todo en una transacción: los INSERT salen en lotes JDBC
+            estudianteRepository.saveAll(estudiantes);
             logger.info("✅ " + estudiantes.size() + " estudiantes regulares creados");
 
             // 6. CREAR 30 ASPIRANTES
+            String passwordAspirante = passwordEncoder.encode("Asp123*");
             List<Aspirante> aspirantes = new ArrayList<>();
             Aspirante.EstadoInscripcion[] estados = Aspirante.EstadoInscripcion.values();
             for (int i = 0; i < 30; i++) {
                 Usuario usuarioAspirante = Usuario.builder()
                         .nombre(getNombreCompleto())
                         .correo("aspirante" + (i + 1) + "@correo.com")
-                        .password(passwordEncoder.encode("Asp123*"))
+                        .password(passwordAspirante)
                         .rol(Usuario.Rol.ASPIRANTE)
                         .estado(true)
                         .build();
@@ -202,16 +213,19 @@ public class DataLoaderEnhanced {
             logger.info("✅ 9 logros creados");
 
             // 8. CREAR 120 CALIFICACIONES (para estudiantes regulares)
+            List<Calificacion> calificaciones = new ArrayList<>();
             int calificacionCount = 0;
             for (Estudiante estudiante : estudiantes) {
                 if (calificacionCount >= 120) break;
                 
                 // Cada estudiante tiene calificaciones en 2 periodos
                 for (int periodo = 1; periodo <= 2; periodo++) {
-                    // 2-3 logros por periodo
+                    // 2-3 logros distintos por periodo (una calificación por logro y periodo)
                     int cantLogros = 2 + random.nextInt(2);
+                    List<Logro> logrosPeriodo = new ArrayList<>(logros);
+                    Collections.shuffle(logrosPeriodo, random);
                     for (int i = 0; i < cantLogros && calificacionCount < 120; i++) {
-                        Logro logro = logros.get(random.nextInt(logros.size()));
+                        Logro logro = logrosPeriodo.get(i);
                         double valor = 3.0 + (random.nextDouble() * 2.0); // Entre 3.0 y 5.0
                         valor = Math.round(valor * 10.0) / 10.0; // Redondear a 1 decimal
 
@@ -222,14 +236,17 @@ public class DataLoaderEnhanced {
                                 .estudiante(estudiante)
                                 .profesor(estudiante.getGrupo().getProfesor())
                                 .build();
-                        calificacionRepository.save(calificacion);
+                        calificaciones.add(calificacion);
                         calificacionCount++;
                     }
                 }
             }
+            calificacionRepository.saveAll(calificaciones);
             logger.info("✅ " + calificacionCount + " calificaciones creadas");
+            resumenCalificacionService.reconstruir();
 
             // 9. CREAR 50 CITACIONES (distribuidas por tipo)
+            List<Citacion> citaciones = new ArrayList<>();
             for (int i = 0; i < 50; i++) {
                 Citacion.TipoCitacion tipo;
                 if (i < 20) {
@@ -263,8 +280,9 @@ public class DataLoaderEnhanced {
                     citacion.getAspirantes().add(aspirantes.get(i % aspirantes.size()));
                 }
 
-                citacionRepository.save(citacion);
+                citaciones.add(citacion);
             }
+            citacionRepository.saveAll(citaciones);
             logger.info("✅ 50 citaciones creadas");
 
             // 10. CREAR 80 OBSERVACIONES (para estudiantes regulares)
@@ -280,6 +298,7 @@ public class DataLoaderEnhanced {
                 "Necesita apoyo adicional en convivencia"
             };
             
+            List<Observacion> observaciones = new ArrayList<>();
             int obsCount = 0;
             for (Estudiante estudiante : estudiantes) {
                 if (obsCount >= 80) break;
@@ -294,10 +313,11 @@ public class DataLoaderEnhanced {
                         .estudiante(estudiante)
                         .profesor(estudiante.getGrupo().getProfesor())
                         .build();
-                    observacionRepository.save(observacion);
+                    observaciones.add(observacion);
                     obsCount++;
                 }
             }
+            observacionRepository.saveAll(observaciones);
             logger.info("✅ " + obsCount + " observaciones creadas");
 
             // RESUMEN FINAL
@@ -0,0 +1,216 @@
+package co.udistrital.academia.config;
+
+import co.udistrital.academia.dto.ReconstruccionResumenResponse;
+import co.udistrital.academia.service.ResumenCalificacionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generador de datos sintéticos a escala de producción para pruebas de carga, por ejemplo
+ * {@code --generador.estudiantes=200000 --generador.periodos=4}. Funciona en H2 y MySQL.
+ * Escribe con JdbcTemplate.batchUpdate en transacciones de {@value #FILAS_POR_LOTE} filas; en MySQL
+ * conviene rewriteBatchedStatements=true (perfil prod) para que cada lote sea un INSERT multi-fila.
+ * Con la misma semilla genera los mismos datos. Los ids empiezan después de los existentes,
+ * así que se puede ejecutar sobre una base con datos y junto a DataLoaderEnhanced.
+ * Las contraseñas compartidas se hashean una sola vez.
+ */
+@Component
+@ConditionalOnProperty(name = "generador.estudiantes")
+public class GeneradorDatos implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorDatos.class);
+
+    private static final int FILAS_POR_LOTE = 1000;
+    private static final int ESTUDIANTES_POR_GRUPO = 25;
+    private static final int ESTUDIANTES_POR_ACUDIENTE = 2;
+    private static final int LOGROS = 9;
+
+    private static final String[] GRADOS = {"Párvulos", "Caminadores", "Pre-jardín"};
+    private static final String[] CATEGORIAS = {"PERSONAL_SOCIAL", "COGNITIVO_LENGUAJE", "AREA_MOTRIZ"};
+    private static final String[] NOMBRES = {"Juan", "María", "Pedro", "Ana", "Luis", "Carmen", "José", "Laura",
+            "Carlos", "Isabel", "Miguel", "Rosa", "Antonio", "Patricia", "Francisco", "Lucía", "Manuel", "Elena",
+            "David", "Marta", "Javier", "Sara", "Daniel", "Paula", "Alejandro", "Sofía", "Fernando", "Andrea"};
+    private static final String[] APELLIDOS = {"García", "Rodríguez", "Martínez", "López", "González", "Pérez",
+            "Sánchez", "Ramírez", "Torres", "Flores", "Rivera", "Gómez", "Díaz", "Cruz", "Morales", "Herrera",
+            "Jiménez", "Méndez", "Castro", "Ortiz", "Ruiz", "Vargas", "Silva", "Rojas", "Molina", "Reyes"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ResumenCalificacionService resumenCalificacionService;
+
+    @Value("${generador.estudiantes}")
+    private int estudiantes;
+
+    @Value("${generador.periodos:4}")
+    private int periodos;
+
+    @Value("${generador.logros-por-periodo:3}")
+    private int logrosPorPeriodo;
+
+    @Value("${generador.semilla:42}")
+    private long semilla;
+
+    private Random random;
+
+    @Override
+    public void run(String... args) {
+        // Cada estudiante recibe logros distintos en un periodo (restricción única de calificacion)
+        if (logrosPorPeriodo > LOGROS) {
+            throw new IllegalArgumentException("generador.logros-por-periodo no puede superar " + LOGROS);
+        }
+        long inicio = System.currentTimeMillis();
+        random = new Random(semilla);
+        int grupos = (estudiantes + ESTUDIANTES_POR_GRUPO - 1) / ESTUDIANTES_POR_GRUPO;
+        int acudientes = (estudiantes + ESTUDIANTES_POR_ACUDIENTE - 1) / ESTUDIANTES_POR_ACUDIENTE;
+        logger.info("Generando " + estudiantes + " estudiantes, " + grupos + " grupos y "
+                + (long) estudiantes * periodos * logrosPorPeriodo + " calificaciones (semilla " + semilla + ")");
+
+        // Usuarios, grupos y logros usan IDENTITY: se insertan con id explícito y luego se ajusta el contador
+        long primerProfesor = siguienteId("usuario");
+        long primerAcudiente = primerProfesor + grupos;
+        String passwordProfesor = passwordEncoder.encode("Prof123*");
+        String passwordAcudiente = passwordEncoder.encode("Acud123*");
+        insertar("INSERT INTO usuario (id, nombre, correo, password, rol, estado) VALUES (?, ?, ?, ?, ?, ?)",
+                grupos + acudientes, n -> {
+                    boolean profesor = n < grupos;
+                    long id = primerProfesor + n;
+                    return new Object[]{id, nombreCompleto(),
+                            profesor ? "profesor" + id + "@carga.academia.ud" : "acudiente" + id + "@carga.correo.com",
+                            profesor ? passwordProfesor : passwordAcudiente,
+                            profesor ? "PROFESOR" : "ACUDIENTE", true};
+                });
+        reiniciarIdentidad("usuario", primerAcudiente + acudientes);
+
+        long primerGrupo = siguienteId("grupo");
+        insertar("INSERT INTO grupo (id, nombre, grado, capacidad, estado, version, profesor_id) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                grupos, n -> {
+                    String grado = GRADOS[(int) (n % GRADOS.length)];
+                    return new Object[]{primerGrupo + n, grado + " " + (primerGrupo + n), grado,
+                            ESTUDIANTES_POR_GRUPO, "ACTIVO", 0L, primerProfesor + n};
+                });
+        reiniciarIdentidad("grupo", primerGrupo + grupos);
+
+        long primerLogro = siguienteId("logro");
+        insertar("INSERT INTO logro (id, nombre, descripcion, categoria, estado) VALUES (?, ?, ?, ?, ?)",
+                LOGROS, n -> new Object[]{primerLogro + n, "Logro generado " + (primerLogro + n),
+                        "Logro sintético para pruebas de carga", CATEGORIAS[(int) (n % CATEGORIAS.length)], "ACTIVO"});
+        reiniciarIdentidad("logro", primerLogro + LOGROS);
+
+        // Estudiantes y calificaciones toman ids de id_generador (ver GeneradorIdsTabla)
+        long primerEstudiante = reservarIds("estudiante", estudiantes);
+        insertar("INSERT INTO estudiante (id, nombre, apellido, grado, reg_civil, estado, acudiente_id, grupo_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                estudiantes, n -> {
+                    int grupo = (int) (n / ESTUDIANTES_POR_GRUPO);
+                    return new Object[]{primerEstudiante + n, NOMBRES[random.nextInt(NOMBRES.length)],
+                            apellidoCompleto(), GRADOS[grupo % GRADOS.length], "RC-G" + (primerEstudiante + n),
+                            "ACTIVO", primerAcudiente + n / ESTUDIANTES_POR_ACUDIENTE, primerGrupo + grupo};
+                });
+
+        int porEstudiante = periodos * logrosPorPeriodo;
+        long calificaciones = (long) estudiantes * porEstudiante;
+        long primeraCalificacion = reservarIds("calificacion", calificaciones);
+        insertar("INSERT INTO calificacion (id, valor, periodo, logro_id, estudiante_id, profesor_id) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                calificaciones, n -> {
+                    int estudiante = (int) (n / porEstudiante);
+                    int celda = (int) (n % porEstudiante);
+                    int logro = (estudiante + celda) % LOGROS;
+                    // Entre 2.0 y 5.0 con un decimal
+                    double valor = Math.min(5.0, Math.round((2.0 + random.nextDouble() * 3.5) * 10) / 10.0);
+                    return new Object[]{primeraCalificacion + n, valor, celda / logrosPorPeriodo + 1,
+                            primerLogro + logro, primerEstudiante + estudiante,
+                            primerProfesor + estudiante / ESTUDIANTES_POR_GRUPO};
+                });
+
+        ReconstruccionResumenResponse resumen = resumenCalificacionService.reconstruir();
+        logger.info("Datos generados en " + (System.currentTimeMillis() - inicio) + " ms; resumen_calificacion: "
+                + resumen.filas() + " filas en " + resumen.milisegundos() + " ms");
+    }
+
+    /**
+     * Construye los parámetros de la fila n.
+     */
+    @FunctionalInterface
+    private interface Fila {
+        Object[] crear(long n);
+    }
+
+    private void insertar(String sql, long total, Fila fila) {
+        String tabla = sql.split(" ")[2];
+        for (long desde = 0; desde < total; desde += FILAS_POR_LOTE) {
+            long hasta = Math.min(desde + FILAS_POR_LOTE, total);
+            List<Object[]> lote = new ArrayList<>((int) (hasta - desde));
+            for (long n = desde; n < hasta; n++) {
+                lote.add(fila.crear(n));
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, lote));
+            if (hasta % 100_000 == 0 || hasta == total) {
+                logger.info(tabla + ": " + hasta + "/" + total);
+            }
+        }
+    }
+
+    private long siguienteId(String tabla) {
+        Long maximo = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tabla, Long.class);
+        return (maximo != null ? maximo : 0) + 1;
+    }
+
+    private void reiniciarIdentidad(String tabla, long siguiente) {
+        // MySQL avanza AUTO_INCREMENT solo al insertar ids explícitos; H2 no
+        if (esH2()) {
+            jdbcTemplate.execute("ALTER TABLE " + tabla + " ALTER COLUMN id RESTART WITH " + siguiente);
+        }
+    }
+
+    /**
+     * Reserva un rango de ids por encima de los usados y de los que GeneradorIdsTabla puede tener
+     * reservados en memoria, y deja id_generador después del rango (ver schema.sql).
+     */
+    private long reservarIds(String tabla, long cantidad) {
+        List<Long> actual = jdbcTemplate.queryForList(
+                "SELECT siguiente FROM id_generador WHERE nombre = ?", Long.class, tabla);
+        long primero = Math.max(siguienteId(tabla), actual.isEmpty() ? 1 : actual.get(0) + 1);
+        long siguiente = primero + cantidad - 1;
+        if (actual.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO id_generador (nombre, siguiente) VALUES (?, ?)", tabla, siguiente);
+        } else {
+            jdbcTemplate.update("UPDATE id_generador SET siguiente = ? WHERE nombre = ?", siguiente, tabla);
+        }
+        return primero;
+    }
+
+    private boolean esH2() {
+        String producto = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        return "H2".equalsIgnoreCase(producto);
+    }
+
+    private String nombreCompleto() {
+        return NOMBRES[random.nextInt(NOMBRES.length)] + " " + NOMBRES[random.nextInt(NOMBRES.length)];
+    }
+
+    private String apellidoCompleto() {
+        return APELLIDOS[random.nextInt(APELLIDOS.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)];
+    }
+}
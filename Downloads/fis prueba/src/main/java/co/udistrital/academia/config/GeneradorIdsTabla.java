@@ -0,0 +1,116 @@
+package co.udistrital.academia.config;
+
+import co.udistrital.academia.entity.IdTabla;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generador de ids por bloques sobre la tabla id_generador (fila = nombre de la tabla, siguiente =
+ * último id que pudo entregarse). Cada bloque de {@value #BLOQUE} ids cuesta un UPDATE, de modo que
+ * Hibernate asigna el id sin ir a la base por fila y puede agrupar los INSERT en lotes JDBC.
+ *
+ * A diferencia del @TableGenerator de Hibernate, el bloque se reserva por una conexión del pool
+ * propio de {@link PoolIdGenerador} y no por una segunda conexión del pool de la aplicación: con el
+ * pool principal lleno de transacciones esperando el bloque, esa segunda conexión nunca llegaba y
+ * las peticiones quedaban bloqueadas hasta el timeout de Hikari.
+ */
+public class GeneradorIdsTabla implements IdentifierGenerator {
+
+    static final int BLOQUE = 50;
+
+    private final String nombre;
+    private final DataSource fuente;
+    // Un ReentrantLock y no synchronized: la reserva hace JDBC y un hilo virtual que la espera
+    // dentro de synchronized queda fijado a su hilo de plataforma
+    private final ReentrantLock cerrojo = new ReentrantLock();
+    private long siguiente;
+    private long limite;
+
+    public GeneradorIdsTabla(IdTabla config, Member member, CustomIdGeneratorCreationContext context) {
+        this.nombre = config.value();
+        Object pool = context.getServiceRegistry().requireService(ConfigurationService.class)
+                .getSettings().get(PoolIdGenerador.PROPIEDAD);
+        if (!(pool instanceof DataSource dataSource)) {
+            throw new HibernateException("Falta el pool de id_generador (" + PoolIdGenerador.PROPIEDAD + ")");
+        }
+        this.fuente = dataSource;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        cerrojo.lock();
+        try {
+            if (siguiente == limite) {
+                limite = reservarBloque();
+                siguiente = limite - BLOQUE;
+            }
+            return ++siguiente;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
+
+    /**
+     * Avanza la fila en un bloque y devuelve el nuevo límite. Si la fila no existe la crea
+     * a partir del MAX(id) de la tabla; si otra instancia la crea a la vez, el INSERT falla
+     * por la clave primaria y basta con avanzar la fila que ya existe.
+     */
+    private long reservarBloque() {
+        try (Connection conexion = fuente.getConnection()) {
+            conexion.setAutoCommit(false);
+            try {
+                if (avanzar(conexion) == 0) {
+                    crearFila(conexion);
+                    avanzar(conexion);
+                }
+                long nuevoLimite;
+                try (PreparedStatement select = conexion.prepareStatement(
+                        "SELECT siguiente FROM id_generador WHERE nombre = ?")) {
+                    select.setString(1, nombre);
+                    try (ResultSet rs = select.executeQuery()) {
+                        rs.next();
+                        nuevoLimite = rs.getLong(1);
+                    }
+                }
+                conexion.commit();
+                return nuevoLimite;
+            } catch (SQLException e) {
+                conexion.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new HibernateException("No se pudo reservar un bloque de ids para " + nombre, e);
+        }
+    }
+
+    private void crearFila(Connection conexion) throws SQLException {
+        try (PreparedStatement insert = conexion.prepareStatement(
+                "INSERT INTO id_generador (nombre, siguiente) SELECT ?, COALESCE(MAX(id), 0) FROM " + nombre)) {
+            insert.setString(1, nombre);
+            insert.executeUpdate();
+        } catch (SQLIntegrityConstraintViolationException e) {
+            // La creó otra instancia entre el UPDATE y el INSERT
+        }
+    }
+
+    private int avanzar(Connection conexion) throws SQLException {
+        try (PreparedStatement update = conexion.prepareStatement(
+                "UPDATE id_generador SET siguiente = siguiente + ? WHERE nombre = ?")) {
+            update.setLong(1, BLOQUE);
+            update.setString(2, nombre);
+            return update.executeUpdate();
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package co.udistrital.academia.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -15,16 +20,40 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * Atributo de la petición con el rol autenticado, para la etiqueta role de http.server.requests.
+     */
+    public static final String ATRIBUTO_ROL = "rol";
+
     @Autowired
     private JwtTokenProvider tokenProvider;
 
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private boolean claimsOnly = false;
+
+    /**
+     * En modo claims el principal se construye solo con el token verificado
+     * (subject, roles, usuarioId), sin consultar la tabla usuario en cada petición.
+     */
+    public void setClaimsOnly(boolean claimsOnly) {
+        this.claimsOnly = claimsOnly;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -32,9 +61,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromJWT(jwt);
-                Long usuarioId = tokenProvider.getUserIdFromJWT(jwt);
+            JwtClaims claims = StringUtils.hasText(jwt) ? validar(jwt) : null;
+
+            if (claims != null && claimsOnly) {
+                authenticateFromClaims(claims, request);
+            } else if (claims != null && !revocado(claims)) {
+                String username = claims.username();
+                Long usuarioId = claims.usuarioId();
 
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication =
@@ -42,7 +75,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                
+                registrarRol(request, userDetails.getAuthorities());
+
                 // Add usuarioId to request attributes
                 request.setAttribute("usuarioId", usuarioId);
             }
@@ -53,6 +87,63 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private void authenticateFromClaims(JwtClaims claims, HttpServletRequest request) {
+        if (revocado(claims)) {
+            return;
+        }
+        String username = claims.username();
+
+        String roles = claims.roles();
+        List<GrantedAuthority> authorities = StringUtils.hasText(roles)
+                ? Arrays.stream(roles.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                    .toList()
+                : List.of();
+
+        UserDetails userDetails = User.withUsername(username)
+                .password("")
+                .authorities(authorities)
+                .build();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
+        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        registrarRol(request, authorities);
+
+        Long usuarioId = claims.usuarioId();
+        if (usuarioId != null) {
+            request.setAttribute("usuarioId", usuarioId);
+        }
+    }
+
+    // Un usuario existente y habilitado no basta: sus tokens anteriores pueden estar revocados
+    private boolean revocado(JwtClaims claims) {
+        if (revocationRegistry.isRevoked(claims.username(), claims.issuedAt())) {
+            logger.debug("Token revocado para " + claims.username());
+            return true;
+        }
+        return false;
+    }
+
+    private JwtClaims validar(String jwt) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        JwtClaims claims = tokenProvider.parseAndValidate(jwt).orElse(null);
+        muestra.stop(meterRegistry.timer("academia.jwt.validacion", "resultado", claims != null ? "valido" : "invalido"));
+        return claims;
+    }
+
+    // Primer rol sin el prefijo ROLE_ (los usuarios tienen uno solo)
+    private void registrarRol(HttpServletRequest request, Collection<? extends GrantedAuthority> authorities) {
+        authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(a -> a.startsWith("ROLE_"))
+                .findFirst()
+                .ifPresent(a -> request.setAttribute(ATRIBUTO_ROL, a.substring(5)));
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
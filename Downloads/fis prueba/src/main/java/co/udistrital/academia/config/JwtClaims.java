@@ -0,0 +1,18 @@
+package co.udistrital.academia.config;
+
+import java.util.Date;
+
+/**
+ * Claims ya verificados de un token de acceso.
+ */
+public record JwtClaims(
+    String username,
+    String roles,
+    Long usuarioId,
+    Date issuedAt,
+    Date expiration
+) {
+    public boolean isExpired(long nowMillis) {
+        return expiration != null && expiration.getTime() <= nowMillis;
+    }
+}
@@ -1,8 +1,12 @@
 package co.udistrital.academia.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -10,12 +14,18 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -25,14 +35,34 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-expiration}")
     private long jwtRefreshExpirationInMs;
 
+    // Tamaño del cache de tokens verificados (0 lo desactiva)
+    @Value("${jwt.cache-size:10000}")
+    private int claimsCacheSize;
+
     private SecretKey key;
 
+    private JwtParser parser;
+
+    // Null cuando jwt.cache-size es 0
+    private Cache<String, JwtClaims> claimsCache;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        // Caffeine en lugar de un LinkedHashMap sincronizado: las lecturas no toman un lock global
+        this.claimsCache = claimsCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(claimsCacheSize).build()
+                : null;
     }
 
-    public String generateToken(Authentication authentication) {
+    /**
+     * Token de login. Lleva usuarioId como generateTokenFromUsername: en modo claims es lo único
+     * de donde sale el atributo usuarioId de la petición.
+     */
+    public String generateToken(Authentication authentication, Long usuarioId) {
         String username = authentication.getName();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
@@ -44,6 +74,7 @@ public class JwtTokenProvider {
         return Jwts.builder()
                 .subject(username)
                 .claim("roles", roles)
+                .claim("usuarioId", usuarioId)
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key, Jwts.SIG.HS512)
@@ -64,48 +95,75 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.getSubject();
-    }
-
-    public Long getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    /**
+     * Verifica la firma una sola vez y devuelve los claims tipados.
+     * Los tokens ya verificados se sirven desde un cache acotado hasta su expiración.
+     */
+    public Optional<JwtClaims> parseAndValidate(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            logger.debug("JWT claims string is empty");
+            return Optional.empty();
+        }
 
-        return claims.get("usuarioId", Long.class);
-    }
+        long now = System.currentTimeMillis();
+        String cacheKey = claimsCache != null ? hashToken(authToken) : null;
+        if (cacheKey != null) {
+            JwtClaims cached = claimsCache.getIfPresent(cacheKey);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    return Optional.of(cached);
+                }
+                claimsCache.invalidate(cacheKey);
+                logger.debug("Expired JWT token");
+                return Optional.empty();
+            }
+        }
 
-    public boolean validateToken(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (SecurityException ex) {
-            System.err.println("Invalid JWT signature");
+            Claims claims = parser.parseSignedClaims(authToken).getPayload();
+            JwtClaims jwtClaims = new JwtClaims(
+                    claims.getSubject(),
+                    claims.get("roles", String.class),
+                    claims.get("usuarioId", Long.class),
+                    claims.getIssuedAt(),
+                    claims.getExpiration()
+            );
+            if (cacheKey != null) {
+                claimsCache.put(cacheKey, jwtClaims);
+            }
+            return Optional.of(jwtClaims);
+        } catch (io.jsonwebtoken.security.SecurityException ex) {
+            logger.debug("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
-            System.err.println("Invalid JWT token");
+            logger.debug("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
-            System.err.println("Expired JWT token");
+            logger.debug("Expired JWT token");
         } catch (UnsupportedJwtException ex) {
-            System.err.println("Unsupported JWT token");
+            logger.debug("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
-            System.err.println("JWT claims string is empty");
+            logger.debug("JWT claims string is empty");
+        }
+        return Optional.empty();
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseAndValidate(authToken).isPresent();
+    }
+
+    private String hashToken(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
         }
-        return false;
     }
 
     public long getJwtExpirationInMs() {
         return jwtExpirationInMs;
     }
+
+    public long getJwtRefreshExpirationInMs() {
+        return jwtRefreshExpirationInMs;
+    }
 }
@@ -0,0 +1,240 @@
+package co.udistrital.academia.config;
+
+import co.udistrital.academia.dto.AdmisionLoginResponse;
+import co.udistrital.academia.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Control de admisión para los endpoints públicos que calculan hashes de contraseña
+ * (login, primer login, cambio de contraseña, clave temporal, preinscripción pública).
+ * Antes de calcular cualquier hash se aplican dos límites de tasa (token bucket por IP y por correo)
+ * y luego un semáforo que acota cuántos hashes se calculan a la vez; las peticiones que no caben
+ * esperan un tiempo máximo en una cola acotada. Lo que no se admite responde 429 de inmediato,
+ * así una ráfaga de intentos no ocupa todos los hilos de Tomcat.
+ */
+@Component
+public class LoginAdmission implements MeterBinder {
+
+    @Value("${login.limite.ip.capacidad:20}")
+    private int ipCapacidad;
+
+    @Value("${login.limite.ip.por-minuto:10}")
+    private int ipPorMinuto;
+
+    @Value("${login.limite.correo.capacidad:5}")
+    private int correoCapacidad;
+
+    @Value("${login.limite.correo.por-minuto:5}")
+    private int correoPorMinuto;
+
+    // 0 = un hash por núcleo
+    @Value("${login.hash.concurrencia:0}")
+    private int concurrencia;
+
+    @Value("${login.hash.cola-max:50}")
+    private int colaMax;
+
+    @Value("${login.hash.espera-max-ms:2000}")
+    private long esperaMaxMs;
+
+    private LimiteTasa porIp;
+    private LimiteTasa porCorreo;
+    private Semaphore permisos;
+    private int totalPermisos;
+
+    private final AtomicInteger enProceso = new AtomicInteger();
+    private final AtomicInteger enEspera = new AtomicInteger();
+    private final LongAdder admitidos = new LongAdder();
+    private final LongAdder encolados = new LongAdder();
+    private final LongAdder rechazadosPorIp = new LongAdder();
+    private final LongAdder rechazadosPorCorreo = new LongAdder();
+    private final LongAdder rechazadosPorSaturacion = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        porIp = new LimiteTasa(ipCapacidad, ipPorMinuto);
+        porCorreo = new LimiteTasa(correoCapacidad, correoPorMinuto);
+        totalPermisos = concurrencia > 0 ? concurrencia : Runtime.getRuntime().availableProcessors();
+        permisos = new Semaphore(totalPermisos, true);
+    }
+
+    /**
+     * Ejecuta la operación si la petición pasa los límites y obtiene un permiso de hash.
+     * La IP es la dirección remota del servlet; detrás de un proxy se debe configurar
+     * server.forward-headers-strategy para que sea la del cliente.
+     */
+    public <T> T ejecutar(String ip, String correo, Supplier<T> operacion) {
+        long espera = porIp.consumir(ip);
+        if (espera > 0) {
+            rechazadosPorIp.increment();
+            throw new TooManyRequestsException("Demasiados intentos desde esta dirección. Intente más tarde", espera);
+        }
+        if (correo != null) {
+            espera = porCorreo.consumir(correo.trim().toLowerCase(Locale.ROOT));
+            if (espera > 0) {
+                rechazadosPorCorreo.increment();
+                throw new TooManyRequestsException("Demasiados intentos para este correo. Intente más tarde", espera);
+            }
+        }
+
+        adquirirPermiso();
+        try {
+            return operacion.get();
+        } finally {
+            enProceso.decrementAndGet();
+            permisos.release();
+        }
+    }
+
+    /**
+     * Los mismos contadores de metricas() en /actuator/prometheus: academia.login.intentos por
+     * resultado, academia.login.encolados y gauges de hashes en proceso, en espera, permisos y
+     * cubetas de los límites de tasa.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        registrarIntentos(registry, "admitido", admitidos);
+        registrarIntentos(registry, "rechazado_ip", rechazadosPorIp);
+        registrarIntentos(registry, "rechazado_correo", rechazadosPorCorreo);
+        registrarIntentos(registry, "rechazado_saturacion", rechazadosPorSaturacion);
+        FunctionCounter.builder("academia.login.encolados", encolados, LongAdder::sum)
+                .description("Intentos que esperaron un permiso de hash")
+                .register(registry);
+        Gauge.builder("academia.login.hash.en_proceso", enProceso, AtomicInteger::get)
+                .description("Hashes de contraseña calculándose")
+                .register(registry);
+        Gauge.builder("academia.login.hash.en_espera", enEspera, AtomicInteger::get)
+                .description("Intentos esperando un permiso de hash")
+                .register(registry);
+        Gauge.builder("academia.login.hash.permisos", this, a -> a.totalPermisos)
+                .description("Hashes simultáneos permitidos")
+                .register(registry);
+        Gauge.builder("academia.login.limite.claves", this, a -> a.porIp.tamano())
+                .tag("limite", "ip")
+                .description("Cubetas activas del límite de tasa")
+                .register(registry);
+        Gauge.builder("academia.login.limite.claves", this, a -> a.porCorreo.tamano())
+                .tag("limite", "correo")
+                .description("Cubetas activas del límite de tasa")
+                .register(registry);
+    }
+
+    private static void registrarIntentos(MeterRegistry registry, String resultado, LongAdder contador) {
+        FunctionCounter.builder("academia.login.intentos", contador, LongAdder::sum)
+                .tag("resultado", resultado)
+                .description("Intentos de login, primer login y cambio de contraseña por resultado de la admisión")
+                .register(registry);
+    }
+
+    public AdmisionLoginResponse metricas() {
+        return new AdmisionLoginResponse(admitidos.sum(), encolados.sum(),
+                rechazadosPorIp.sum(), rechazadosPorCorreo.sum(), rechazadosPorSaturacion.sum(),
+                enProceso.get(), enEspera.get(), totalPermisos, porIp.tamano(), porCorreo.tamano());
+    }
+
+    private void adquirirPermiso() {
+        if (!permisos.tryAcquire()) {
+            if (enEspera.incrementAndGet() > colaMax) {
+                enEspera.decrementAndGet();
+                rechazarPorSaturacion();
+            }
+            encolados.increment();
+            boolean obtenido;
+            try {
+                obtenido = permisos.tryAcquire(esperaMaxMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                obtenido = false;
+            } finally {
+                enEspera.decrementAndGet();
+            }
+            if (!obtenido) {
+                rechazarPorSaturacion();
+            }
+        }
+        enProceso.incrementAndGet();
+        admitidos.increment();
+    }
+
+    private void rechazarPorSaturacion() {
+        rechazadosPorSaturacion.increment();
+        throw new TooManyRequestsException("El servicio de autenticación está ocupado. Intente de nuevo", 1);
+    }
+
+    /**
+     * Token bucket por clave. Cada cubeta se actualiza con compareAndSet sobre un estado inmutable,
+     * sin bloqueos; el mapa es un ConcurrentHashMap (segmentado por bins).
+     * Una cubeta sin uso durante el tiempo que tarda en llenarse equivale a una nueva,
+     * así que se elimina en la purga periódica.
+     */
+    private static class LimiteTasa {
+
+        private static final long INTERVALO_PURGA_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+        private final double capacidad;
+        private final double tokensPorNano;
+        private final long nanosHastaLlenar;
+        private final ConcurrentHashMap<String, AtomicReference<Estado>> cubetas = new ConcurrentHashMap<>();
+        private final AtomicLong ultimaPurga = new AtomicLong(System.nanoTime());
+
+        private record Estado(double tokens, long nanos) {
+        }
+
+        LimiteTasa(int capacidad, int porMinuto) {
+            this.capacidad = capacidad;
+            this.tokensPorNano = porMinuto / (double) TimeUnit.MINUTES.toNanos(1);
+            this.nanosHastaLlenar = (long) Math.ceil(capacidad / tokensPorNano);
+        }
+
+        /**
+         * Consume un token; devuelve 0 si se admite o los segundos hasta el siguiente token.
+         */
+        long consumir(String clave) {
+            long ahora = System.nanoTime();
+            purgar(ahora);
+            AtomicReference<Estado> cubeta = cubetas.computeIfAbsent(clave,
+                    k -> new AtomicReference<>(new Estado(capacidad, ahora)));
+            while (true) {
+                Estado actual = cubeta.get();
+                long nanos = Math.max(ahora, actual.nanos());
+                double tokens = Math.min(capacidad, actual.tokens() + (nanos - actual.nanos()) * tokensPorNano);
+                if (tokens < 1) {
+                    return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPorNano / TimeUnit.SECONDS.toNanos(1)));
+                }
+                if (cubeta.compareAndSet(actual, new Estado(tokens - 1, nanos))) {
+                    return 0;
+                }
+            }
+        }
+
+        int tamano() {
+            return cubetas.size();
+        }
+
+        // Un hilo por intervalo recorre el mapa; una cubeta eliminada mientras otro hilo la usa
+        // solo le regala a esa clave el token de ese intento
+        private void purgar(long ahora) {
+            long ultima = ultimaPurga.get();
+            if (ahora - ultima < INTERVALO_PURGA_NANOS || !ultimaPurga.compareAndSet(ultima, ahora)) {
+                return;
+            }
+            cubetas.values().removeIf(cubeta -> ahora - cubeta.get().nanos() >= nanosHastaLlenar);
+        }
+    }
+}
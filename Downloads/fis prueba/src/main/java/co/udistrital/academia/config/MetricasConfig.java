@@ -0,0 +1,94 @@
+package co.udistrital.academia.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Métricas expuestas en /actuator/prometheus. Además de las de Spring Boot (http.server.requests,
+ * hikaricp.*, hibernate.*, jvm.*) están academia.pdf.*, academia.jwt.validacion, academia.sql.sentencias,
+ * academia.sql.presupuesto.excedido, academia.cache.aciertos.ratio y academia.login.* (LoginAdmission). Todas las etiquetas son de baja cardinalidad: plantilla de la
+ * ruta, rol, resultado, tipo de documento, región de cache.
+ */
+@Configuration
+public class MetricasConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private PresupuestoSqlInterceptor presupuestoSqlInterceptor;
+
+    private static final String SIN_ROL = "ANONIMO";
+
+    /**
+     * http.server.requests (un timer por endpoint) con la etiqueta role además de uri, method,
+     * status y outcome. El rol lo deja JwtAuthenticationFilter en la petición.
+     */
+    @Bean
+    public ServerRequestObservationConvention serverRequestObservationConvention() {
+        return new DefaultServerRequestObservationConvention() {
+            @Override
+            public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+                Object rol = context.getCarrier().getAttribute(JwtAuthenticationFilter.ATRIBUTO_ROL);
+                return super.getLowCardinalityKeyValues(context)
+                        .and(KeyValue.of("role", rol != null ? rol.toString() : SIN_ROL));
+            }
+        };
+    }
+
+    /**
+     * Proporción de aciertos de la cache de segundo nivel por región (logro, grupo, usuario) y de
+     * la cache de consultas. Los contadores de los que sale son hibernate.second.level.cache.requests
+     * y hibernate.cache.query.requests; la proporción es acumulada desde el arranque.
+     */
+    @Bean
+    public MeterBinder metricasCacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics estadisticas = sessionFactory.getStatistics();
+        return registry -> {
+            for (String region : estadisticas.getSecondLevelCacheRegionNames()) {
+                // getSecondLevelCacheRegionNames incluye también las regiones de consultas y timestamps
+                if (sessionFactory.getCache().getRegion(region) instanceof DomainDataRegion) {
+                    CacheRegionStatistics regionStats = estadisticas.getDomainDataRegionStatistics(region);
+                    registrarRatio(registry, region, regionStats,
+                            r -> ratio(r.getHitCount(), r.getMissCount()));
+                }
+            }
+            registrarRatio(registry, "consultas", estadisticas,
+                    s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()));
+        };
+    }
+
+    private static <T> void registrarRatio(MeterRegistry registry, String region, T origen,
+                                           ToDoubleFunction<T> ratio) {
+        Gauge.builder("academia.cache.aciertos.ratio", origen, ratio)
+                .tag("region", region)
+                .description("Aciertos / (aciertos + fallos) de la cache de Hibernate")
+                .register(registry);
+    }
+
+    private static double ratio(long aciertos, long fallos) {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(presupuestoSqlInterceptor);
+    }
+}
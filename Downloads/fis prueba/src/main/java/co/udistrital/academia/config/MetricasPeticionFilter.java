@@ -0,0 +1,61 @@
+package co.udistrital.academia.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra cuántas sentencias SQL ejecuta cada petición (academia.sql.sentencias), etiquetado
+ * por endpoint (plantilla de la ruta) y método. Las peticiones sin handler no se registran.
+ * Si la petición superó su presupuesto (PresupuestoSqlInterceptor) deja un aviso en el log y
+ * suma academia.sql.presupuesto.excedido.
+ * Va antes de la cadena de seguridad para incluir la carga del usuario del token.
+ * Las consultas hechas al escribir una respuesta en streaming (otro hilo) no se cuentan.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class MetricasPeticionFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ContadorSentencias.iniciar();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int maximo = ContadorSentencias.maximo();
+            int sentencias = ContadorSentencias.detener();
+            Object endpoint = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (endpoint != null) {
+                if (sentencias > maximo) {
+                    logger.warn("Presupuesto SQL excedido: " + request.getMethod() + " " + endpoint
+                            + " ejecutó " + sentencias + " sentencias (máximo " + maximo + ")");
+                    meterRegistry.counter("academia.sql.presupuesto.excedido",
+                            "uri", endpoint.toString(), "method", request.getMethod()).increment();
+                }
+                DistributionSummary.builder("academia.sql.sentencias")
+                        .description("Sentencias SQL por petición")
+                        .tag("uri", endpoint.toString())
+                        .tag("method", request.getMethod())
+                        .publishPercentileHistogram()
+                        .register(meterRegistry)
+                        .record(sentencias);
+            }
+        }
+    }
+}
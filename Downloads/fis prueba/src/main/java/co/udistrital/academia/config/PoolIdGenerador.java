@@ -0,0 +1,61 @@
+package co.udistrital.academia.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Pool pequeño, separado del de la aplicación, para reservar bloques de ids en id_generador
+ * (ver {@link GeneradorIdsTabla}). Usa la misma URL y credenciales que el DataSource principal.
+ * No se publica como bean DataSource para no desactivar la autoconfiguración del principal.
+ * Llega a los generadores como propiedad de Hibernate: la fábrica de EntityManager depende de
+ * este bean, así que el pool ya existe cuando Hibernate crea los generadores.
+ */
+@Component
+public class PoolIdGenerador implements HibernatePropertiesCustomizer {
+
+    static final String PROPIEDAD = "academia.id-generador.pool";
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private HikariDataSource pool;
+
+    @PostConstruct
+    public void init() throws SQLException {
+        pool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName("id-generador");
+        pool.setMaximumPoolSize(2);
+        pool.setMinimumIdle(1);
+        // Gauges hikaricp.* con pool=id-generador, junto a los del pool principal
+        pool.setMetricRegistry(meterRegistry);
+
+        // En dev (create-drop) la tabla no forma parte del mapeo; en MySQL la crea schema.sql
+        try (Connection conexion = pool.getConnection(); Statement st = conexion.createStatement()) {
+            st.execute("CREATE TABLE IF NOT EXISTS id_generador (nombre VARCHAR(255) NOT NULL PRIMARY KEY, siguiente BIGINT)");
+        }
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(PROPIEDAD, pool);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.close();
+    }
+}
@@ -0,0 +1,17 @@
+package co.udistrital.academia.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Máximo de sentencias SQL que puede ejecutar una petición al endpoint, contando la carga del
+ * usuario del token. Sin la anotación rige sql.presupuesto.defecto. Ver PresupuestoSqlInterceptor.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface PresupuestoSql {
+
+    int value();
+}
@@ -0,0 +1,41 @@
+package co.udistrital.academia.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Fija el presupuesto de sentencias SQL de la petición según el endpoint: @PresupuestoSql del
+ * método o del controlador, o sql.presupuesto.defecto. En modo log MetricasPeticionFilter avisa
+ * al terminar la petición; en modo rechazar la sentencia que lo supera falla (ContadorSentencias).
+ */
+@Component
+public class PresupuestoSqlInterceptor implements HandlerInterceptor {
+
+    // log | rechazar | desactivado
+    @Value("${sql.presupuesto.modo:log}")
+    private String modo;
+
+    @Value("${sql.presupuesto.defecto:30}")
+    private int presupuestoDefecto;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod metodo) || "desactivado".equalsIgnoreCase(modo)) {
+            return true;
+        }
+        PresupuestoSql presupuesto = metodo.getMethodAnnotation(PresupuestoSql.class);
+        if (presupuesto == null) {
+            presupuesto = metodo.getBeanType().getAnnotation(PresupuestoSql.class);
+        }
+        Object ruta = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        ContadorSentencias.limitar(request.getMethod() + " " + ruta,
+                presupuesto != null ? presupuesto.value() : presupuestoDefecto,
+                "rechazar".equalsIgnoreCase(modo));
+        return true;
+    }
+}
@@ -1,6 +1,8 @@
 package co.udistrital.academia.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,8 +12,11 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -20,6 +25,8 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 @Configuration
 @EnableWebSecurity
@@ -32,14 +39,59 @@ public class SecurityConfig {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private UserDetailsPasswordService userDetailsPasswordService;
+
+    // bcrypt | argon2
+    @Value("${password.algoritmo:bcrypt}")
+    private String passwordAlgoritmo;
+
+    @Value("${password.bcrypt.costo:12}")
+    private int bcryptCosto;
+
+    @Value("${password.argon2.memoria-kb:19456}")
+    private int argon2MemoriaKb;
+
+    @Value("${password.argon2.iteraciones:2}")
+    private int argon2Iteraciones;
+
+    @Value("${password.argon2.paralelismo:1}")
+    private int argon2Paralelismo;
+
+    // database: carga el usuario en cada petición; claims: usa solo el token verificado
+    @Value("${jwt.auth-mode:database}")
+    private String jwtAuthMode;
+
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter();
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        filter.setClaimsOnly("claims".equalsIgnoreCase(jwtAuthMode));
+        return filter;
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        return crearPasswordEncoder(passwordAlgoritmo, bcryptCosto, argon2MemoriaKb, argon2Iteraciones, argon2Paralelismo);
+    }
+
+    /**
+     * Codifica con el algoritmo configurado y guarda el hash con su prefijo ({bcrypt}, {argon2}).
+     * Los hashes sin prefijo (anteriores a esta configuración) se verifican como bcrypt.
+     * upgradeEncoding indica qué hashes deben regenerarse: otro algoritmo o parámetros más débiles.
+     */
+    public static PasswordEncoder crearPasswordEncoder(String algoritmo, int bcryptCosto,
+                                                       int argon2MemoriaKb, int argon2Iteraciones, int argon2Paralelismo) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptCosto);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put("bcrypt", bcrypt);
+        encoders.put("argon2", new Argon2PasswordEncoder(16, 32, argon2Paralelismo, argon2MemoriaKb, argon2Iteraciones));
+        if (!encoders.containsKey(algoritmo)) {
+            throw new IllegalArgumentException("Algoritmo de contraseñas no soportado: " + algoritmo);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algoritmo, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return encoder;
     }
 
     @Bean
@@ -47,6 +99,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Tras un login correcto, los hashes anteriores se reemplazan por uno con la configuración actual
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService);
         return authProvider;
     }
 
@@ -63,12 +117,16 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Segundo despacho de las descargas en streaming (PDF): la petición original ya fue autorizada
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/aspirantes/solicitar-clave").permitAll()
                         .requestMatchers("/api/aspirantes/preinscripcion-publica").permitAll()
                         .requestMatchers("/api/aspirantes/*/estado-publico").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        // Scraping de Prometheus y health checks; en producción restringir por red o management.server.port
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                         .anyRequest().authenticated()
                 );
 
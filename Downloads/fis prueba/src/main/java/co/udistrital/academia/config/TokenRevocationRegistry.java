@@ -0,0 +1,110 @@
+package co.udistrital.academia.config;
+
+import co.udistrital.academia.entity.RevocacionToken;
+import co.udistrital.academia.repository.RevocacionTokenRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de revocación de access tokens, consultada por JwtAuthenticationFilter en los dos modos.
+ * Guarda, por correo, el instante a partir del cual se aceptan tokens: los emitidos
+ * antes quedan invalidados (cambio de contraseña, usuario deshabilitado, cambio de correo,
+ * refresh token reutilizado). El instante se guarda también en la tabla revocacion_token,
+ * por correo, y se vuelve a leer al arrancar, así un reinicio no devuelve la validez a tokens revocados.
+ * Las entradas se descartan cuando ya no puede existir un token vigente anterior a ellas.
+ */
+@Component
+public class TokenRevocationRegistry {
+
+    private static final String UPSERT_MYSQL =
+            "INSERT INTO revocacion_token (correo, revocado_desde) VALUES (:correo, :desde) " +
+            "ON DUPLICATE KEY UPDATE revocado_desde = VALUES(revocado_desde)";
+
+    private static final String UPSERT_H2 =
+            "MERGE INTO revocacion_token (correo, revocado_desde) KEY (correo) VALUES (:correo, :desde)";
+
+    @Value("${jwt.expiration}")
+    private long jwtExpirationInMs;
+
+    @Autowired
+    private RevocacionTokenRepository revocacionTokenRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ConcurrentHashMap<String, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    private String upsert;
+
+    @PostConstruct
+    public void init() {
+        boolean h2 = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof H2Dialect;
+        upsert = h2 ? UPSERT_H2 : UPSERT_MYSQL;
+
+        long now = System.currentTimeMillis();
+        for (RevocacionToken revocacion : revocacionTokenRepository.findByRevocadoDesdeAfter(aFecha(now - jwtExpirationInMs))) {
+            revokedBefore.put(revocacion.getCorreo(),
+                    revocacion.getRevocadoDesde().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+
+    /**
+     * Debe llamarse dentro de una transacción: el instante se guarda en ella y solo pasa a la
+     * lista en memoria si se confirma, así un rollback no deja una revocación fantasma.
+     */
+    public void revokeTokensIssuedBefore(String username) {
+        // El claim iat tiene precisión de segundos
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        entityManager.createNativeQuery(upsert)
+                .setParameter("correo", username)
+                .setParameter("desde", aFecha(now))
+                .unwrap(NativeQuery.class)
+                // Sin esto Hibernate vaciaría todas las regiones de la cache de segundo nivel
+                .addSynchronizedEntityClass(RevocacionToken.class)
+                .executeUpdate();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                revokedBefore.put(username, now);
+                purgeExpired(now);
+            }
+        });
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        Long threshold = revokedBefore.get(username);
+        if (threshold == null) {
+            return false;
+        }
+        return issuedAt == null || issuedAt.getTime() < threshold;
+    }
+
+    private void purgeExpired(long now) {
+        revokedBefore.values().removeIf(threshold -> threshold + jwtExpirationInMs < now);
+    }
+
+    private static LocalDateTime aFecha(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -1,11 +1,13 @@
 package co.udistrital.academia.controller;
 
+import co.udistrital.academia.config.LoginAdmission;
 import co.udistrital.academia.dto.AspiranteCreateRequest;
 import co.udistrital.academia.entity.Aspirante;
 import co.udistrital.academia.service.AspiranteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -29,6 +31,9 @@ public class AspiranteController {
     @Autowired
     private AspiranteService aspiranteService;
 
+    @Autowired
+    private LoginAdmission loginAdmission;
+
     @Autowired
     private co.udistrital.academia.service.FormularioPreinscripcionService formularioService;
 
@@ -89,8 +94,11 @@ public class AspiranteController {
     @Operation(summary = "Solicitar clave temporal", 
                description = "Endpoint público para que aspirantes soliciten clave temporal")
     public ResponseEntity<co.udistrital.academia.dto.ClaveTemporalResponse> solicitarClaveTemporal(
-            @Valid @RequestBody co.udistrital.academia.dto.SolicitudClaveTemporalRequest request) {
-        co.udistrital.academia.dto.ClaveTemporalResponse response = aspiranteService.solicitarClaveTemporal(request.getCorreo());
+            @Valid @RequestBody co.udistrital.academia.dto.SolicitudClaveTemporalRequest request,
+            HttpServletRequest httpRequest) {
+        co.udistrital.academia.dto.ClaveTemporalResponse response = loginAdmission.ejecutar(
+            httpRequest.getRemoteAddr(), request.getCorreo(),
+            () -> aspiranteService.solicitarClaveTemporal(request.getCorreo()));
         return ResponseEntity.ok(response);
     }
 
@@ -131,9 +139,11 @@ public class AspiranteController {
     @Operation(summary = "Crear preinscripción pública (sin autenticación)", 
                description = "Crea usuario aspirante, estudiante y devuelve clave temporal")
     public ResponseEntity<co.udistrital.academia.dto.PreinscripcionPublicaResponse> crearPreinscripcionPublica(
-            @Valid @RequestBody co.udistrital.academia.dto.PreinscripcionPublicaRequest request) {
-        co.udistrital.academia.dto.PreinscripcionPublicaResponse response = 
-            aspiranteService.crearPreinscripcionPublica(request);
+            @Valid @RequestBody co.udistrital.academia.dto.PreinscripcionPublicaRequest request,
+            HttpServletRequest httpRequest) {
+        co.udistrital.academia.dto.PreinscripcionPublicaResponse response = loginAdmission.ejecutar(
+            httpRequest.getRemoteAddr(), request.getCorreo(),
+            () -> aspiranteService.crearPreinscripcionPublica(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
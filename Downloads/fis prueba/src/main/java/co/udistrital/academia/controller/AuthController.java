@@ -1,14 +1,21 @@
 package co.udistrital.academia.controller;
 
+import co.udistrital.academia.config.LoginAdmission;
+import co.udistrital.academia.dto.AdmisionLoginResponse;
 import co.udistrital.academia.dto.FirstLoginRequest;
 import co.udistrital.academia.dto.LoginRequest;
+import co.udistrital.academia.dto.RefreshTokenRequest;
 import co.udistrital.academia.dto.TokenResponse;
 import co.udistrital.academia.service.AuthService;
+import co.udistrital.academia.service.RefreshTokenService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,27 +26,59 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private LoginAdmission loginAdmission;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @PostMapping("/login")
     @Operation(summary = "C.U 25 - Login de usuarios", description = "Permite autenticarse con correo y contraseña")
-    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request) {
-        TokenResponse response = authService.login(request);
+    public ResponseEntity<TokenResponse> login(@Valid @RequestBody LoginRequest request,
+                                               HttpServletRequest httpRequest) {
+        TokenResponse response = loginAdmission.ejecutar(httpRequest.getRemoteAddr(), request.correo(),
+                () -> authService.login(request));
         return ResponseEntity.ok(response);
     }
 
     @PostMapping("/first-login")
     @Operation(summary = "C.U 26 - Primer login con cambio de contraseña", 
                description = "Permite cambiar la contraseña temporal en el primer acceso")
-    public ResponseEntity<TokenResponse> firstLogin(@Valid @RequestBody FirstLoginRequest request) {
-        TokenResponse response = authService.firstLogin(request);
+    public ResponseEntity<TokenResponse> firstLogin(@Valid @RequestBody FirstLoginRequest request,
+                                                    HttpServletRequest httpRequest) {
+        TokenResponse response = loginAdmission.ejecutar(httpRequest.getRemoteAddr(), request.correo(),
+                () -> authService.firstLogin(request));
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/refresh")
+    @Operation(summary = "Renovar access token", 
+               description = "Canjea un refresh token por un access token nuevo y otro refresh token. " +
+                             "Cada refresh token sirve una sola vez; reutilizarlo cierra la sesión")
+    public ResponseEntity<TokenResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return ResponseEntity.ok(refreshTokenService.renovar(request.refreshToken()));
+    }
+
+    @GetMapping("/admision")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Métricas del control de admisión", 
+               description = "Intentos admitidos, encolados y rechazados (429) por IP, por correo y por saturación")
+    public ResponseEntity<AdmisionLoginResponse> metricasAdmision() {
+        return ResponseEntity.ok(loginAdmission.metricas());
+    }
+
     @PutMapping("/reset-password")
     @Operation(summary = "Resetear contraseña", description = "Permite cambiar la contraseña del usuario autenticado")
     public ResponseEntity<String> resetPassword(
             @RequestParam String correo,
-            @RequestParam String nuevaPassword) {
-        authService.resetPassword(correo, nuevaPassword);
+            @RequestParam String nuevaPassword,
+            HttpServletRequest httpRequest) {
+        // Calcula un hash como el login: pasa por los mismos límites
+        loginAdmission.ejecutar(httpRequest.getRemoteAddr(), correo, () -> {
+            authService.resetPassword(correo, nuevaPassword);
+            return null;
+        });
         return ResponseEntity.ok("Contraseña actualizada exitosamente");
     }
 }
@@ -1,24 +1,45 @@
 package co.udistrital.academia.controller;
 
+import co.udistrital.academia.config.PresupuestoSql;
+import co.udistrital.academia.dto.BoletinLoteRequest;
+import co.udistrital.academia.dto.BoletinLoteResponse;
+import co.udistrital.academia.dto.BoletinResumen;
+import co.udistrital.academia.dto.CalificacionLoteRequest;
+import co.udistrital.academia.dto.CalificacionLoteResponse;
 import co.udistrital.academia.dto.CalificacionRequest;
 import co.udistrital.academia.dto.CalificacionResponse;
+import co.udistrital.academia.dto.CierrePeriodoResponse;
+import co.udistrital.academia.dto.EstadisticaColectiva;
+import co.udistrital.academia.dto.EstadisticaEstudiante;
+import co.udistrital.academia.dto.ReconstruccionResumenResponse;
+import co.udistrital.academia.dto.ReportePdf;
+import co.udistrital.academia.service.BoletinLoteService;
+import co.udistrital.academia.service.BoletinService;
 import co.udistrital.academia.service.CalificacionService;
+import co.udistrital.academia.service.EstadisticaService;
 import co.udistrital.academia.service.ReporteService;
+import co.udistrital.academia.service.ResumenCalificacionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Path;
 import java.util.List;
 
 @RestController
@@ -33,7 +54,20 @@ public class CalificacionController {
     @Autowired
     private ReporteService reporteService;
 
+    @Autowired
+    private BoletinLoteService boletinLoteService;
+
+    @Autowired
+    private BoletinService boletinService;
+
+    @Autowired
+    private EstadisticaService estadisticaService;
+
+    @Autowired
+    private ResumenCalificacionService resumenCalificacionService;
+
     @GetMapping("/page")
+    @PresupuestoSql(5)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
     @Operation(summary = "Listar calificaciones paginadas", 
                description = "Lista calificaciones paginadas con filtros opcionales")
@@ -48,6 +82,7 @@ public class CalificacionController {
     }
 
     @GetMapping
+    @PresupuestoSql(4)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR') or hasRole('ACUDIENTE')")
     @Operation(summary = "C.U 7 - Consultar calificaciones", 
                description = "Consulta calificaciones de un estudiante, opcionalmente por periodo")
@@ -59,22 +94,120 @@ public class CalificacionController {
     }
 
     @GetMapping("/reporte/boletin")
+    @PresupuestoSql(6)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR') or hasRole('ACUDIENTE')")
     @Operation(summary = "C.U 8 - Generar boletín PDF", 
                description = "Genera boletín de calificaciones de un estudiante en formato PDF")
-    public ResponseEntity<byte[]> generarBoletin(
+    public ResponseEntity<StreamingResponseBody> generarBoletin(
             @RequestParam Long estudianteId,
-            @RequestParam(required = false) Integer periodo) {
-        byte[] pdfBytes = reporteService.generarBoletin(estudianteId, periodo);
+            @RequestParam(required = false) Integer periodo,
+            WebRequest webRequest) {
+        ReportePdf pdf = reporteService.generarBoletin(estudianteId, periodo);
+        if (webRequest.checkNotModified(pdf.etag())) {
+            return null;
+        }
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
         headers.setContentDispositionFormData("attachment", "boletin_estudiante_" + estudianteId + ".pdf");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return new ResponseEntity<>(pdf.contenido(), headers, HttpStatus.OK);
+    }
+
+    @PostMapping("/reporte/boletines")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
+    @Operation(summary = "C.U 8 - Generar boletines de un grupo o grado", 
+               description = "Inicia en segundo plano la generación de todos los boletines de un grupo o grado " +
+                             "para un periodo. Devuelve el trabajo para consultar su progreso")
+    public ResponseEntity<BoletinLoteResponse> generarBoletinesLote(@Valid @RequestBody BoletinLoteRequest request) {
+        BoletinLoteResponse response = boletinLoteService.iniciar(request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+
+    @GetMapping("/reporte/boletines/{id}")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
+    @Operation(summary = "Estado de la generación de boletines", 
+               description = "Consulta el estado y el progreso (generados / total) de un trabajo de boletines")
+    public ResponseEntity<BoletinLoteResponse> consultarBoletinesLote(@PathVariable String id) {
+        return ResponseEntity.ok(boletinLoteService.consultarEstado(id));
+    }
+
+    @GetMapping("/reporte/boletines/{id}/archivo")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
+    @Operation(summary = "Descargar boletines generados", 
+               description = "Descarga el ZIP con los boletines de un trabajo finalizado")
+    public ResponseEntity<Resource> descargarBoletinesLote(@PathVariable String id) {
+        Path archivo = boletinLoteService.obtenerArchivo(id);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment", "boletines_" + id + ".zip");
+
+        return new ResponseEntity<>(new FileSystemResource(archivo), headers, HttpStatus.OK);
+    }
+
+    @PostMapping("/reporte/cierre")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Cierre de periodo", 
+               description = "Calcula y guarda el boletín consolidado (promedio, estado y PDF) de cada estudiante " +
+                             "de un grupo o grado para el periodo. Repetir el cierre recalcula los boletines")
+    public ResponseEntity<CierrePeriodoResponse> cerrarPeriodo(@Valid @RequestBody BoletinLoteRequest request) {
+        return ResponseEntity.ok(boletinService.cerrarPeriodo(request));
+    }
+
+    @GetMapping("/historia")
+    @PresupuestoSql(5)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR') or hasRole('ACUDIENTE')")
+    @Operation(summary = "Historia académica", 
+               description = "Promedio y estado de cada periodo cerrado de un estudiante")
+    public ResponseEntity<List<BoletinResumen>> consultarHistoria(@RequestParam Long estudianteId) {
+        return ResponseEntity.ok(boletinService.consultarHistoria(estudianteId));
+    }
+
+    @GetMapping("/estadisticas/estudiante/{id}")
+    @PresupuestoSql(5)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR') or hasRole('ACUDIENTE')")
+    @Operation(summary = "Estadísticas de un estudiante", 
+               description = "Cantidad, promedio, mínimo, máximo y estado por periodo y en general")
+    public ResponseEntity<EstadisticaEstudiante> estadisticasEstudiante(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer periodo) {
+        return ResponseEntity.ok(estadisticaService.porEstudiante(id, periodo));
+    }
+
+    @GetMapping("/estadisticas/grupo/{id}")
+    @PresupuestoSql(5)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
+    @Operation(summary = "Estadísticas de un grupo", 
+               description = "Promedio, mínimo, máximo, aprobados y reprobados del grupo, con el detalle por estudiante")
+    public ResponseEntity<EstadisticaColectiva> estadisticasGrupo(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer periodo) {
+        return ResponseEntity.ok(estadisticaService.porGrupo(id, periodo));
+    }
+
+    @GetMapping("/estadisticas/grado")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
+    @Operation(summary = "Estadísticas de un grado", 
+               description = "Promedio, mínimo, máximo, aprobados y reprobados del grado, con el detalle por estudiante")
+    public ResponseEntity<EstadisticaColectiva> estadisticasGrado(
+            @RequestParam String grado,
+            @RequestParam(required = false) Integer periodo) {
+        return ResponseEntity.ok(estadisticaService.porGrado(grado, periodo));
+    }
+
+    @PostMapping("/estadisticas/resumen/reconstruir")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reconstruir resumen de calificaciones", 
+               description = "Recalcula desde cero la tabla de acumulados por estudiante y periodo " +
+                             "que usan las estadísticas y los boletines")
+    public ResponseEntity<ReconstruccionResumenResponse> reconstruirResumen() {
+        return ResponseEntity.ok(resumenCalificacionService.reconstruir());
     }
 
     @PostMapping
+    @PresupuestoSql(10)
     @PreAuthorize("hasRole('PROFESOR')")
     @Operation(summary = "C.U 9 - Crear calificación", 
                description = "Registra una nueva calificación (valor entre 1.0 y 5.0)")
@@ -83,6 +216,17 @@ public class CalificacionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('PROFESOR')")
+    @Operation(summary = "C.U 9 - Registrar planilla de calificaciones", 
+               description = "Registra las calificaciones de un grupo para un periodo (estudiante x logro). " +
+                             "Las celdas inválidas se rechazan individualmente y se reportan en la respuesta")
+    public ResponseEntity<CalificacionLoteResponse> registrarCalificacionesLote(
+            @Valid @RequestBody CalificacionLoteRequest request) {
+        CalificacionLoteResponse response = calificacionService.registrarCalificacionesLote(request);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('PROFESOR')")
     @Operation(summary = "C.U 10 - Modificar calificación", 
@@ -1,5 +1,6 @@
 package co.udistrital.academia.controller;
 
+import co.udistrital.academia.config.PresupuestoSql;
 import co.udistrital.academia.dto.CitacionRequest;
 import co.udistrital.academia.dto.CitacionResponse;
 import co.udistrital.academia.service.CitacionService;
@@ -11,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -37,20 +39,27 @@ public class CitacionController {
     }
 
     @GetMapping("/page")
+    @PresupuestoSql(6)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR') or hasRole('ACUDIENTE')")
     @Operation(summary = "Listar citaciones paginadas", 
-               description = "Lista citaciones paginadas con filtros opcionales por tipo y estado")
+               description = "Lista citaciones paginadas y ordenadas por fecha con filtros opcionales por tipo, estado, profesor y acudiente")
     public ResponseEntity<Page<CitacionResponse>> listarCitacionesPaginadas(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(required = false) String tipo,
-            @RequestParam(required = false) String estado) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<CitacionResponse> citaciones = citacionService.listarCitacionesPaginadas(pageable, tipo, estado);
+            @RequestParam(required = false) String estado,
+            @RequestParam(required = false) Long profesorId,
+            @RequestParam(required = false) Long acudienteId,
+            @RequestParam(defaultValue = "asc") String orden) {
+        Sort.Direction direccion = "desc".equalsIgnoreCase(orden) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direccion, "fecha", "id"));
+        Page<CitacionResponse> citaciones = citacionService.listarCitacionesPaginadas(
+                pageable, tipo, estado, profesorId, acudienteId);
         return ResponseEntity.ok(citaciones);
     }
 
     @GetMapping
+    @PresupuestoSql(5)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR') or hasRole('ACUDIENTE')")
     @Operation(summary = "C.U 2, 4, 5 - Listar citaciones", 
                description = "Lista citaciones filtradas por tipo, profesor o acudiente")
@@ -1,5 +1,6 @@
 package co.udistrital.academia.controller;
 
+import co.udistrital.academia.config.PresupuestoSql;
 import co.udistrital.academia.entity.Estudiante;
 import co.udistrital.academia.service.EstudianteService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,6 +23,7 @@ public class EstudianteController {
     private EstudianteService estudianteService;
 
     @GetMapping
+    @PresupuestoSql(3)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR') or hasRole('ACUDIENTE')")
     @Operation(summary = "Listar estudiantes", 
                description = "Obtiene lista de estudiantes. Si es acudiente, solo sus estudiantes")
@@ -31,6 +33,7 @@ public class EstudianteController {
     }
 
     @GetMapping("/{id}")
+    @PresupuestoSql(4)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR') or hasRole('ACUDIENTE')")
     @Operation(summary = "Obtener estudiante por ID")
     public ResponseEntity<Estudiante> obtenerEstudiante(@PathVariable Long id) {
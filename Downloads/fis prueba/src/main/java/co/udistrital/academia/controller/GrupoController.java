@@ -1,7 +1,9 @@
 package co.udistrital.academia.controller;
 
+import co.udistrital.academia.config.PresupuestoSql;
 import co.udistrital.academia.dto.AddEstudianteRequest;
 import co.udistrital.academia.dto.GrupoRequest;
+import co.udistrital.academia.dto.ReportePdf;
 import co.udistrital.academia.entity.Grupo;
 import co.udistrital.academia.service.GrupoService;
 import co.udistrital.academia.service.ReporteService;
@@ -13,12 +15,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -53,17 +58,22 @@ public class GrupoController {
     }
 
     @GetMapping("/{id}/listado.pdf")
+    @PresupuestoSql(8)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
     @Operation(summary = "C.U 34 - Generar listado de grupo en PDF", 
                description = "Genera y descarga un PDF con el listado de estudiantes del grupo")
-    public ResponseEntity<byte[]> generarListadoPdf(@PathVariable Long id) {
-        byte[] pdfBytes = reporteService.generarListadoGrupo(id);
+    public ResponseEntity<StreamingResponseBody> generarListadoPdf(@PathVariable Long id, WebRequest webRequest) {
+        ReportePdf pdf = reporteService.generarListadoGrupo(id);
+        if (webRequest.checkNotModified(pdf.etag())) {
+            return null;
+        }
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
         headers.setContentDispositionFormData("attachment", "listado_grupo_" + id + ".pdf");
 
-        return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+        return new ResponseEntity<>(pdf.contenido(), headers, HttpStatus.OK);
     }
 
     @GetMapping("/page")
@@ -80,6 +90,7 @@ public class GrupoController {
     }
 
     @GetMapping
+    @PresupuestoSql(5)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
     @Operation(summary = "Listar todos los grupos", description = "Obtiene la lista completa de grupos con filtro opcional por profesor")
     public ResponseEntity<List<co.udistrital.academia.dto.GrupoResponse>> listarGrupos(@RequestParam(required = false) Long profesorId) {
@@ -88,6 +99,7 @@ public class GrupoController {
     }
 
     @GetMapping("/{id}")
+    @PresupuestoSql(4)
     @PreAuthorize("hasRole('ADMIN') or hasRole('PROFESOR')")
     @Operation(summary = "Obtener grupo por ID", description = "Obtiene los detalles de un grupo específico")
     public ResponseEntity<Grupo> obtenerGrupo(@PathVariable Long id) {
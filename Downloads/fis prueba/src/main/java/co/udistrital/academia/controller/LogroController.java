@@ -1,5 +1,6 @@
 package co.udistrital.academia.controller;
 
+import co.udistrital.academia.config.PresupuestoSql;
 import co.udistrital.academia.dto.LogroRequest;
 import co.udistrital.academia.entity.Logro;
 import co.udistrital.academia.service.LogroService;
@@ -17,6 +18,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/logros")
+@PresupuestoSql(5)
 @SecurityRequirement(name = "Bearer Authentication")
 @Tag(name = "6. Gestión de Logros", description = "CRUD de logros por categoría")
 public class LogroController {
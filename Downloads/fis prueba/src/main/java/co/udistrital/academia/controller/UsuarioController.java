@@ -1,5 +1,6 @@
 package co.udistrital.academia.controller;
 
+import co.udistrital.academia.config.PresupuestoSql;
 import co.udistrital.academia.dto.CredencialesTemporalesDto;
 import co.udistrital.academia.dto.UsuarioRequest;
 import co.udistrital.academia.dto.UsuarioUpdateRequest;
@@ -28,6 +29,7 @@ public class UsuarioController {
     private UsuarioService usuarioService;
 
     @GetMapping("/page")
+    @PresupuestoSql(8)
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "C.U 18 - Listar usuarios paginados", description = "Obtiene lista paginada de usuarios")
     public ResponseEntity<Page<Usuario>> listarUsuarios(
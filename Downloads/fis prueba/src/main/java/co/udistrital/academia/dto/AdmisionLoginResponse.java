@@ -0,0 +1,17 @@
+package co.udistrital.academia.dto;
+
+/**
+ * Contadores del control de admisión de login desde el arranque, y su estado actual.
+ */
+public record AdmisionLoginResponse(
+    long admitidos,
+    long encolados,
+    long rechazadosPorIp,
+    long rechazadosPorCorreo,
+    long rechazadosPorSaturacion,
+    int enProceso,
+    int enEspera,
+    int permisos,
+    int clavesIp,
+    int clavesCorreo
+) {}
@@ -0,0 +1,15 @@
+package co.udistrital.academia.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Generación masiva de boletines: se indica un grupo o un grado (uno de los dos).
+ */
+public record BoletinLoteRequest(
+    Long grupoId,
+    
+    String grado,
+    
+    @NotNull(message = "El periodo es obligatorio")
+    Integer periodo
+) {}
@@ -0,0 +1,20 @@
+package co.udistrital.academia.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Estado y progreso de un trabajo de generación masiva de boletines.
+ */
+public record BoletinLoteResponse(
+    String id,
+    String estado,
+    Long grupoId,
+    String grado,
+    Integer periodo,
+    int total,
+    int generados,
+    int fallidos,
+    String mensaje,
+    LocalDateTime creado,
+    LocalDateTime finalizado
+) {}
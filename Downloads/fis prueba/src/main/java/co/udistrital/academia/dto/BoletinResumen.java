@@ -0,0 +1,14 @@
+package co.udistrital.academia.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Boletín consolidado de un periodo (sin el PDF).
+ */
+public record BoletinResumen(
+    Long id,
+    Integer periodo,
+    LocalDate fecha,
+    Double promedio,
+    Boolean aprobado
+) {}
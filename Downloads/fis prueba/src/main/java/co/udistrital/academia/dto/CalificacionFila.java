@@ -0,0 +1,26 @@
+package co.udistrital.academia.dto;
+
+import co.udistrital.academia.entity.Estudiante;
+import co.udistrital.academia.entity.Logro;
+
+/**
+ * Fila plana de una calificación con su logro, estudiante y profesor,
+ * obtenida en una sola consulta con expresión constructora.
+ */
+public record CalificacionFila(
+    Long id,
+    Double valor,
+    Integer periodo,
+    Long logroId,
+    String logroNombre,
+    String logroDescripcion,
+    Logro.Categoria logroCategoria,
+    Logro.EstadoLogro logroEstado,
+    Long estudianteId,
+    String estudianteNombre,
+    String estudianteApellido,
+    String estudianteGrado,
+    String estudianteRegCivil,
+    Estudiante.EstadoEstudiante estudianteEstado,
+    String profesorNombre
+) {}
@@ -0,0 +1,32 @@
+package co.udistrital.academia.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Planilla de calificaciones de un grupo para un periodo:
+ * una fila por estudiante con los valores indexados por ID de logro.
+ */
+public record CalificacionLoteRequest(
+    @NotNull(message = "El ID del grupo es obligatorio")
+    Long grupoId,
+    
+    @NotNull(message = "El periodo es obligatorio")
+    Integer periodo,
+    
+    @NotEmpty(message = "Debe incluir al menos un estudiante")
+    @Valid
+    List<FilaEstudiante> estudiantes
+) {
+    public record FilaEstudiante(
+        @NotNull(message = "El ID del estudiante es obligatorio")
+        Long estudianteId,
+        
+        @NotEmpty(message = "Debe incluir al menos una calificación")
+        Map<Long, Double> valores
+    ) {}
+}
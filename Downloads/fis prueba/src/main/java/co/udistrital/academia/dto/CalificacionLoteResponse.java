@@ -0,0 +1,22 @@
+package co.udistrital.academia.dto;
+
+import java.util.List;
+
+/**
+ * Resultado por celda de una planilla: las filas inválidas se rechazan
+ * sin impedir que se registren las demás.
+ */
+public record CalificacionLoteResponse(
+    int total,
+    int creadas,
+    int rechazadas,
+    List<Resultado> resultados
+) {
+    public record Resultado(
+        Long estudianteId,
+        Long logroId,
+        Long calificacionId,
+        String estado,
+        String mensaje
+    ) {}
+}
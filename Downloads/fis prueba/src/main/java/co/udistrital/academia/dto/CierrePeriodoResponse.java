@@ -0,0 +1,12 @@
+package co.udistrital.academia.dto;
+
+/**
+ * Resultado del cierre de un periodo: boletines consolidados nuevos y recalculados.
+ */
+public record CierrePeriodoResponse(
+    Integer periodo,
+    int total,
+    int creados,
+    int actualizados,
+    int sinCalificaciones
+) {}
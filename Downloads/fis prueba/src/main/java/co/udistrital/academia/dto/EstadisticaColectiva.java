@@ -0,0 +1,19 @@
+package co.udistrital.academia.dto;
+
+import java.util.List;
+
+/**
+ * Resumen de calificaciones de un grupo o un grado, con el detalle por estudiante.
+ */
+public record EstadisticaColectiva(
+    Long grupoId,
+    String grado,
+    Integer periodo,
+    int estudiantes,
+    int aprobados,
+    int reprobados,
+    Double promedio,
+    Double minimo,
+    Double maximo,
+    List<EstadisticaEstudiante> detalle
+) {}
@@ -0,0 +1,16 @@
+package co.udistrital.academia.dto;
+
+import java.util.List;
+
+/**
+ * Promedios de un estudiante por periodo y el promedio general (ponderado por cantidad de calificaciones).
+ */
+public record EstadisticaEstudiante(
+    Long estudianteId,
+    List<PromedioPeriodo> periodos,
+    long cantidad,
+    Double promedioGeneral,
+    Double minimo,
+    Double maximo,
+    String estadoGeneral
+) {}
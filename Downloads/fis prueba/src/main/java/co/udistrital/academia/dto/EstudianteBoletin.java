@@ -0,0 +1,12 @@
+package co.udistrital.academia.dto;
+
+/**
+ * Datos de un estudiante necesarios para el encabezado de su boletín.
+ */
+public record EstudianteBoletin(
+    Long id,
+    String nombre,
+    String apellido,
+    String grado,
+    String grupoNombre
+) {}
@@ -0,0 +1,16 @@
+package co.udistrital.academia.dto;
+
+import co.udistrital.academia.entity.Estudiante;
+
+/**
+ * Fila de proyección de un estudiante junto al grupo al que pertenece.
+ */
+public record EstudianteEnGrupo(
+    Long grupoId,
+    Long id,
+    String nombre,
+    String apellido,
+    String grado,
+    String regCivil,
+    Estudiante.EstadoEstudiante estado
+) {}
@@ -0,0 +1,16 @@
+package co.udistrital.academia.dto;
+
+import co.udistrital.academia.entity.Grupo;
+
+/**
+ * Fila de proyección de un grupo con su conteo de estudiantes calculado en SQL.
+ */
+public record GrupoResumen(
+    Long id,
+    String nombre,
+    String grado,
+    Integer capacidad,
+    Grupo.EstadoGrupo estado,
+    String profesorNombre,
+    Long cantidadEstudiantes
+) {}
@@ -0,0 +1,17 @@
+package co.udistrital.academia.dto;
+
+/**
+ * Proyección de un participante (acudiente, profesor o aspirante) de una citación.
+ */
+public interface ParticipanteCitacion {
+
+    Long getCitacionId();
+
+    String getRol();
+
+    Long getId();
+
+    String getNombre();
+
+    String getCorreo();
+}
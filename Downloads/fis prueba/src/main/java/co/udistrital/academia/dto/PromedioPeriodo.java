@@ -0,0 +1,25 @@
+package co.udistrital.academia.dto;
+
+/**
+ * Agregado de las calificaciones de un estudiante en un periodo (GROUP BY estudiante, periodo).
+ */
+public record PromedioPeriodo(
+    Long estudianteId,
+    Integer periodo,
+    Long cantidad,
+    Double promedio,
+    Double minimo,
+    Double maximo,
+    String estado
+) {
+    public static final double NOTA_APROBATORIA = 3.0;
+
+    // Usado por la expresión constructora de las consultas
+    public PromedioPeriodo(Long estudianteId, Integer periodo, Long cantidad, Double promedio, Double minimo, Double maximo) {
+        this(estudianteId, periodo, cantidad, promedio, minimo, maximo, estado(promedio));
+    }
+
+    public static String estado(double promedio) {
+        return promedio >= NOTA_APROBATORIA ? "APROBADO" : "REPROBADO";
+    }
+}
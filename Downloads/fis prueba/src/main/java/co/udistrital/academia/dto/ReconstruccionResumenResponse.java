@@ -0,0 +1,6 @@
+package co.udistrital.academia.dto;
+
+public record ReconstruccionResumenResponse(
+    int filas,
+    long milisegundos
+) {}
@@ -0,0 +1,8 @@
+package co.udistrital.academia.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+    @NotBlank(message = "El refresh token es obligatorio")
+    String refreshToken
+) {}
@@ -0,0 +1,11 @@
+package co.udistrital.academia.dto;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * PDF listo para enviar: su ETag (huella de los datos) y el cuerpo que lo escribe.
+ */
+public record ReportePdf(
+    String etag,
+    StreamingResponseBody contenido
+) {}
@@ -4,13 +4,16 @@ public record TokenResponse(
     String accessToken,
     String tokenType,
     Long expiresIn,
+    String refreshToken,
+    Long refreshExpiresIn,
     Long usuarioId,
     String nombre,
     String correo,
     String rol,
     Boolean cambiarPass
 ) {
-    public TokenResponse(String accessToken, Long expiresIn, Long usuarioId, String nombre, String correo, String rol, Boolean cambiarPass) {
-        this(accessToken, "Bearer", expiresIn, usuarioId, nombre, correo, rol, cambiarPass);
+    public TokenResponse(String accessToken, Long expiresIn, String refreshToken, Long refreshExpiresIn,
+                         Long usuarioId, String nombre, String correo, String rol, Boolean cambiarPass) {
+        this(accessToken, "Bearer", expiresIn, refreshToken, refreshExpiresIn, usuarioId, nombre, correo, rol, cambiarPass);
     }
 }
@@ -9,7 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "boletin")
+@Table(name = "boletin", uniqueConstraints = @UniqueConstraint(columnNames = {"estudiante_id", "periodo"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -27,6 +27,11 @@ public class Boletin {
     @Column(nullable = false)
     private Integer periodo;
 
+    // Promedio del periodo calculado al cierre
+    private Double promedio;
+
+    private Boolean aprobado;
+
     @ManyToOne
     @JoinColumn(name = "estudiante_id", nullable = false)
     private Estudiante estudiante;
@@ -0,0 +1,34 @@
+package co.udistrital.academia.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * PDF de un boletín consolidado. Va en su propia tabla porque sin mejora de bytecode Hibernate
+ * ignora @Basic(fetch = LAZY): como columna de boletin, cada carga o borrado de boletines leía
+ * el documento. La base borra la fila junto con su boletín (ON DELETE CASCADE).
+ */
+@Entity
+@Table(name = "boletin_pdf")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BoletinPdf {
+
+    @Id
+    private Long boletinId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "boletin_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Boletin boletin;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] contenido;
+}
@@ -4,7 +4,8 @@ import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "calificacion")
+// Una calificación por estudiante, logro y periodo (ver CalificacionService)
+@Table(name = "calificacion", uniqueConstraints = @UniqueConstraint(columnNames = {"estudiante_id", "periodo", "logro_id"}))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -12,8 +13,10 @@ import lombok.*;
 @Builder
 public class Calificacion {
 
+    // Ids reservados de a 50 en id_generador (sin ida a la base por fila). Con IDENTITY
+    // Hibernate tiene que ejecutar cada INSERT al momento para conocer el id y no puede agruparlos
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdTabla("calificacion")
     private Long id;
 
     @Column(nullable = false)
@@ -18,7 +18,7 @@ import java.util.List;
 public class Citacion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdTabla("citacion")
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -17,7 +17,7 @@ import java.util.List;
 public class Estudiante {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdTabla("estudiante")
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -3,12 +3,16 @@ package co.udistrital.academia.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "grupo")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "grupo")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,6 +43,10 @@ public class Grupo {
     @JoinColumn(name = "profesor_id")
     private Usuario profesor;
 
+    @JsonIgnore
+    @Version
+    private Long version;
+
     @JsonIgnore
     @OneToMany(mappedBy = "grupo", cascade = CascadeType.ALL)
     @Builder.Default
@@ -20,7 +20,7 @@ public class HistoriaAcademica {
     private Long id;
 
     @OneToOne
-    @JoinColumn(name = "estudiante_id", nullable = false)
+    @JoinColumn(name = "estudiante_id", nullable = false, unique = true)
     private Estudiante estudiante;
 
     @OneToMany(mappedBy = "historiaAcademica", cascade = CascadeType.ALL, orphanRemoval = true)
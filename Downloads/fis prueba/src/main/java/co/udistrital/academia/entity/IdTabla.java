@@ -0,0 +1,21 @@
+package co.udistrital.academia.entity;
+
+import co.udistrital.academia.config.GeneradorIdsTabla;
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Id reservado en bloques desde la tabla id_generador (ver {@link GeneradorIdsTabla}).
+ * El valor es la fila de id_generador, que coincide con el nombre de la tabla de la entidad.
+ */
+@IdGeneratorType(GeneradorIdsTabla.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface IdTabla {
+
+    String value();
+}
@@ -3,12 +3,17 @@ package co.udistrital.academia.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
+// Catálogo pequeño que casi no cambia: se lee de la cache de segundo nivel (region logro)
 @Entity
 @Table(name = "logro")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "logro")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +18,7 @@ import java.time.LocalDate;
 public class Observacion {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @IdTabla("observacion")
     private Long id;
     
     @Column(nullable = false)
@@ -0,0 +1,43 @@
+package co.udistrital.academia.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Refresh token emitido al iniciar sesión. Solo se guarda el hash SHA-256 del token.
+ * Cada renovación marca el token como usado y emite otro de la misma familia;
+ * presentar un token ya usado invalida toda la familia.
+ */
+@Entity
+@Table(name = "refresh_token")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    // Cadena de rotación a la que pertenece (la sesión iniciada con un login)
+    @Column(nullable = false, length = 36)
+    private String familia;
+
+    @Column(nullable = false)
+    private LocalDateTime expiracion;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Boolean usado = false;
+
+    @ManyToOne
+    @JoinColumn(name = "token_usuario_id", nullable = false)
+    private TokenUsuario tokenUsuario;
+}
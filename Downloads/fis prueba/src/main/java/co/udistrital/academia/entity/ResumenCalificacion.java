@@ -0,0 +1,41 @@
+package co.udistrital.academia.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Acumulado de las calificaciones de un estudiante en un periodo.
+ * Se actualiza en la misma transacción que cada calificación (ver ResumenCalificacionService)
+ * para que las estadísticas lean una fila por estudiante y periodo.
+ */
+@Entity
+@Table(name = "resumen_calificacion", uniqueConstraints = @UniqueConstraint(columnNames = {"estudiante_id", "periodo"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumenCalificacion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "estudiante_id", nullable = false)
+    private Estudiante estudiante;
+
+    @Column(nullable = false)
+    private Integer periodo;
+
+    @Column(nullable = false)
+    private Double suma;
+
+    @Column(nullable = false)
+    private Long cantidad;
+
+    // Nulos cuando el periodo se queda sin calificaciones
+    private Double minimo;
+
+    private Double maximo;
+}
@@ -0,0 +1,28 @@
+package co.udistrital.academia.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Instante desde el que se aceptan los access tokens emitidos para un correo.
+ * No depende de usuario ni de token_usuario: sirve para cualquier usuario y sigue valiendo
+ * para el correo anterior cuando el usuario cambia de correo.
+ */
+@Entity
+@Table(name = "revocacion_token")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevocacionToken {
+
+    @Id
+    @Column(length = 120)
+    private String correo;
+
+    @Column(name = "revocado_desde", nullable = false)
+    private LocalDateTime revocadoDesde;
+}
@@ -0,0 +1,11 @@
+package co.udistrital.academia.exception;
+
+/**
+ * Una petición superó su presupuesto de sentencias SQL con sql.presupuesto.modo=rechazar.
+ */
+public class PresupuestoSqlExcedidoException extends RuntimeException {
+
+    public PresupuestoSqlExcedidoException(String endpoint, int maximo) {
+        super("Presupuesto SQL excedido en " + endpoint + ": más de " + maximo + " sentencias");
+    }
+}
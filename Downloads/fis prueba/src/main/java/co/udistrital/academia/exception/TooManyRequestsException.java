@@ -0,0 +1,16 @@
+package co.udistrital.academia.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    // Valor de la cabecera Retry-After
+    private final long segundosEspera;
+
+    public TooManyRequestsException(String message, long segundosEspera) {
+        super(message);
+        this.segundosEspera = segundosEspera;
+    }
+
+    public long getSegundosEspera() {
+        return segundosEspera;
+    }
+}
@@ -0,0 +1,20 @@
+package co.udistrital.academia.repository;
+
+import co.udistrital.academia.entity.BoletinPdf;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BoletinPdfRepository extends JpaRepository<BoletinPdf, Long> {
+    
+    @Query("SELECT p.contenido FROM BoletinPdf p WHERE p.boletinId = :boletinId")
+    byte[] findContenidoByBoletinId(@Param("boletinId") Long boletinId);
+    
+    // Reemplaza el PDF sin leer el anterior; 0 si el boletín aún no tiene PDF
+    @Modifying
+    @Query("UPDATE BoletinPdf p SET p.contenido = :contenido WHERE p.boletinId = :boletinId")
+    int actualizar(@Param("boletinId") Long boletinId, @Param("contenido") byte[] contenido);
+}
@@ -1,10 +1,16 @@
 package co.udistrital.academia.repository;
 
+import co.udistrital.academia.dto.BoletinResumen;
 import co.udistrital.academia.entity.Boletin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BoletinRepository extends JpaRepository<Boletin, Long> {
@@ -12,4 +18,27 @@ public interface BoletinRepository extends JpaRepository<Boletin, Long> {
     List<Boletin> findByEstudianteId(Long estudianteId);
     
     List<Boletin> findByEstudianteIdAndPeriodo(Long estudianteId, Integer periodo);
+    
+    List<Boletin> findByEstudianteIdInAndPeriodo(Collection<Long> estudianteIds, Integer periodo);
+    
+    // Borrado en una sentencia, sin cargar las entidades; boletin_pdf se borra en cascada
+    @Modifying
+    @Query("DELETE FROM Boletin b WHERE b.estudiante.id IN :estudianteIds AND b.periodo = :periodo")
+    int eliminarPorEstudiantesYPeriodo(
+        @Param("estudianteIds") Collection<Long> estudianteIds, 
+        @Param("periodo") Integer periodo
+    );
+    
+    // Consultas de solo lectura sin cargar la entidad
+    String SELECT_RESUMEN = "SELECT new co.udistrital.academia.dto.BoletinResumen(" +
+            "b.id, b.periodo, b.fecha, b.promedio, b.aprobado) FROM Boletin b ";
+    
+    @Query(SELECT_RESUMEN + "WHERE b.estudiante.id = :estudianteId ORDER BY b.periodo")
+    List<BoletinResumen> findResumenesByEstudianteId(@Param("estudianteId") Long estudianteId);
+    
+    @Query(SELECT_RESUMEN + "WHERE b.estudiante.id = :estudianteId AND b.periodo = :periodo")
+    Optional<BoletinResumen> findResumenByEstudianteIdAndPeriodo(
+        @Param("estudianteId") Long estudianteId, 
+        @Param("periodo") Integer periodo
+    );
 }
@@ -1,5 +1,6 @@
 package co.udistrital.academia.repository;
 
+import co.udistrital.academia.dto.CalificacionFila;
 import co.udistrital.academia.entity.Calificacion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -28,4 +30,60 @@ public interface CalificacionRepository extends JpaRepository<Calificacion, Long
     Page<Calificacion> findByEstudianteId(Long estudianteId, Pageable pageable);
     
     Page<Calificacion> findByEstudianteIdAndPeriodo(Long estudianteId, Integer periodo, Pageable pageable);
+    
+    // Proyecciones para respuestas: logro, estudiante y profesor en la misma consulta
+    String SELECT_FILA = "SELECT new co.udistrital.academia.dto.CalificacionFila(" +
+            "c.id, c.valor, c.periodo, " +
+            "l.id, l.nombre, l.descripcion, l.categoria, l.estado, " +
+            "e.id, e.nombre, e.apellido, e.grado, e.regCivil, e.estado, " +
+            "p.nombre) " +
+            "FROM Calificacion c JOIN c.logro l JOIN c.estudiante e JOIN c.profesor p ";
+    
+    // Total de las páginas con los mismos joins internos que SELECT_FILA
+    String COUNT_FILA = "SELECT COUNT(c) " +
+            "FROM Calificacion c JOIN c.logro l JOIN c.estudiante e JOIN c.profesor p ";
+    
+    @Query(SELECT_FILA + "WHERE e.id = :estudianteId ORDER BY c.periodo, c.id")
+    List<CalificacionFila> findFilasByEstudianteId(@Param("estudianteId") Long estudianteId);
+    
+    @Query(SELECT_FILA + "WHERE e.id = :estudianteId AND c.periodo = :periodo ORDER BY c.id")
+    List<CalificacionFila> findFilasByEstudianteIdAndPeriodo(
+        @Param("estudianteId") Long estudianteId, 
+        @Param("periodo") Integer periodo
+    );
+    
+    @Query(SELECT_FILA + "WHERE e.id IN :estudianteIds AND c.periodo = :periodo ORDER BY e.id, c.id")
+    List<CalificacionFila> findFilasByEstudianteIdsAndPeriodo(
+        @Param("estudianteIds") Collection<Long> estudianteIds, 
+        @Param("periodo") Integer periodo
+    );
+    
+    // Las páginas llevan orden fijo: sin él la base puede repetir u omitir filas entre páginas
+    @Query(value = SELECT_FILA + "WHERE e.id = :estudianteId ORDER BY c.periodo, c.id",
+           countQuery = COUNT_FILA + "WHERE e.id = :estudianteId")
+    Page<CalificacionFila> findFilasByEstudianteId(@Param("estudianteId") Long estudianteId, Pageable pageable);
+    
+    @Query(value = SELECT_FILA + "WHERE e.id = :estudianteId AND c.periodo = :periodo ORDER BY c.id",
+           countQuery = COUNT_FILA + "WHERE e.id = :estudianteId AND c.periodo = :periodo")
+    Page<CalificacionFila> findFilasByEstudianteIdAndPeriodo(
+        @Param("estudianteId") Long estudianteId, 
+        @Param("periodo") Integer periodo, 
+        Pageable pageable
+    );
+    
+    @Query(value = SELECT_FILA + "ORDER BY c.id",
+           countQuery = COUNT_FILA)
+    Page<CalificacionFila> findFilas(Pageable pageable);
+    
+    boolean existsByEstudianteIdAndLogroIdAndPeriodo(Long estudianteId, Long logroId, Integer periodo);
+    
+    boolean existsByEstudianteIdAndLogroIdAndPeriodoAndIdNot(Long estudianteId, Long logroId, Integer periodo, Long id);
+    
+    // Pares [estudianteId, logroId] ya calificados en el periodo
+    @Query("SELECT c.estudiante.id, c.logro.id FROM Calificacion c " +
+           "WHERE c.periodo = :periodo AND c.estudiante.id IN :estudianteIds")
+    List<Object[]> findParesCalificados(
+        @Param("periodo") Integer periodo, 
+        @Param("estudianteIds") Collection<Long> estudianteIds
+    );
 }
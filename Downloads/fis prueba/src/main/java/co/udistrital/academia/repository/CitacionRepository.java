@@ -1,15 +1,20 @@
 package co.udistrital.academia.repository;
 
+import co.udistrital.academia.dto.ParticipanteCitacion;
 import co.udistrital.academia.entity.Citacion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface CitacionRepository extends JpaRepository<Citacion, Long> {
+public interface CitacionRepository extends JpaRepository<Citacion, Long>, JpaSpecificationExecutor<Citacion> {
     
     List<Citacion> findByTipo(Citacion.TipoCitacion tipo);
     
@@ -20,4 +25,16 @@ public interface CitacionRepository extends JpaRepository<Citacion, Long> {
     Page<Citacion> findByEstadoCita(Citacion.EstadoCita estadoCita, Pageable pageable);
     
     Page<Citacion> findByTipoAndEstadoCita(Citacion.TipoCitacion tipo, Citacion.EstadoCita estadoCita, Pageable pageable);
+    
+    @Query(value = "SELECT ca.citacion_id AS citacionId, 'ACUDIENTE' AS rol, u.id AS id, u.nombre AS nombre, u.correo AS correo " +
+                   "FROM citacion_acudiente ca JOIN usuario u ON u.id = ca.acudiente_id WHERE ca.citacion_id IN (:ids) " +
+                   "UNION ALL " +
+                   "SELECT cp.citacion_id AS citacionId, 'PROFESOR' AS rol, u.id AS id, u.nombre AS nombre, u.correo AS correo " +
+                   "FROM citacion_profesor cp JOIN usuario u ON u.id = cp.profesor_id WHERE cp.citacion_id IN (:ids) " +
+                   "UNION ALL " +
+                   "SELECT cas.citacion_id AS citacionId, 'ASPIRANTE' AS rol, a.id AS id, u.nombre AS nombre, u.correo AS correo " +
+                   "FROM citacion_aspirante cas JOIN aspirante a ON a.id = cas.aspirante_id " +
+                   "LEFT JOIN usuario u ON u.id = a.usuario_id WHERE cas.citacion_id IN (:ids)",
+           nativeQuery = true)
+    List<ParticipanteCitacion> findParticipantes(@Param("ids") Collection<Long> citacionIds);
 }
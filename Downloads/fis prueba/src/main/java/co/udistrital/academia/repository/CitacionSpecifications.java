@@ -0,0 +1,44 @@
+package co.udistrital.academia.repository;
+
+import co.udistrital.academia.entity.Citacion;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Filtros de búsqueda de citaciones resueltos en SQL.
+ * Los filtros por participante hacen join sobre citacion_profesor / citacion_acudiente. El mapeo
+ * (List en @ManyToMany) no impone una clave (citacion, usuario) en esas tablas, así que la consulta
+ * se marca distinct para que un participante repetido no duplique la citación.
+ */
+public final class CitacionSpecifications {
+
+    private CitacionSpecifications() {
+    }
+
+    public static Specification<Citacion> conTipo(Citacion.TipoCitacion tipo) {
+        return (root, query, cb) -> tipo == null ? null : cb.equal(root.get("tipo"), tipo);
+    }
+
+    public static Specification<Citacion> conEstado(Citacion.EstadoCita estado) {
+        return (root, query, cb) -> estado == null ? null : cb.equal(root.get("estadoCita"), estado);
+    }
+
+    public static Specification<Citacion> conProfesor(Long profesorId) {
+        return (root, query, cb) -> {
+            if (profesorId == null) {
+                return null;
+            }
+            query.distinct(true);
+            return cb.equal(root.join("profesores").get("id"), profesorId);
+        };
+    }
+
+    public static Specification<Citacion> conAcudiente(Long acudienteId) {
+        return (root, query, cb) -> {
+            if (acudienteId == null) {
+                return null;
+            }
+            query.distinct(true);
+            return cb.equal(root.join("acudientes").get("id"), acudienteId);
+        };
+    }
+}
@@ -1,9 +1,17 @@
 package co.udistrital.academia.repository;
 
+import co.udistrital.academia.dto.EstudianteBoletin;
+import co.udistrital.academia.dto.EstudianteEnGrupo;
 import co.udistrital.academia.entity.Estudiante;
+import co.udistrital.academia.entity.Grupo;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +20,46 @@ public interface EstudianteRepository extends JpaRepository<Estudiante, Long> {
     List<Estudiante> findByAcudienteId(Long acudienteId);
     
     List<Estudiante> findByGrupoId(Long grupoId);
+    
+    // Listado con todas las asociaciones EAGER en una consulta: sin el grafo Hibernate las carga
+    // una a una por estudiante (acudiente, grupo y profesor, aspirante, historia académica)
+    @EntityGraph(attributePaths = {"acudiente.tokenUsuario", "grupo.profesor.tokenUsuario",
+            "aspirante.usuario.tokenUsuario", "historiaAcademica"})
+    @Query("SELECT e FROM Estudiante e WHERE (:acudienteId IS NULL OR e.acudiente.id = :acudienteId) ORDER BY e.id")
+    List<Estudiante> findParaListado(@Param("acudienteId") Long acudienteId);
+    
+    @Query("SELECT new co.udistrital.academia.dto.EstudianteEnGrupo(" +
+           "e.grupo.id, e.id, e.nombre, e.apellido, e.grado, e.regCivil, e.estado) " +
+           "FROM Estudiante e WHERE e.grupo.id IN :grupoIds ORDER BY e.id")
+    List<EstudianteEnGrupo> findResumenesByGrupoIds(@Param("grupoIds") Collection<Long> grupoIds);
+    
+    long countByGrupoId(Long grupoId);
+    
+    // Estudiantes de un grupo o de un grado, para la generación masiva de boletines
+    @Query("SELECT e.id FROM Estudiante e " +
+           "WHERE (:grupoId IS NULL OR e.grupo.id = :grupoId) AND (:grado IS NULL OR e.grado = :grado) " +
+           "ORDER BY e.id")
+    List<Long> findIdsParaBoletines(@Param("grupoId") Long grupoId, @Param("grado") String grado);
+    
+    @Query("SELECT new co.udistrital.academia.dto.EstudianteBoletin(e.id, e.nombre, e.apellido, e.grado, g.nombre) " +
+           "FROM Estudiante e LEFT JOIN e.grupo g WHERE e.id IN :ids ORDER BY e.id")
+    List<EstudianteBoletin> findParaBoletinByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT e.id FROM Estudiante e WHERE e.grupo.id = :grupoId")
+    List<Long> findIdsByGrupoId(@Param("grupoId") Long grupoId);
+    
+    @Query("SELECT e.id FROM Estudiante e WHERE e.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Estudiante e SET e.grupo = :grupo WHERE e.id IN :ids")
+    int asignarGrupo(@Param("grupo") Grupo grupo, @Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Estudiante e SET e.grupo = NULL WHERE e.id IN :ids")
+    int desasignarGrupo(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Estudiante e SET e.grupo = NULL WHERE e.grupo.id = :grupoId")
+    int desasignarTodosDelGrupo(@Param("grupoId") Long grupoId);
 }
@@ -1,12 +1,19 @@
 package co.udistrital.academia.repository;
 
+import co.udistrital.academia.dto.GrupoResumen;
 import co.udistrital.academia.entity.Grupo;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface GrupoRepository extends JpaRepository<Grupo, Long> {
@@ -16,4 +23,22 @@ public interface GrupoRepository extends JpaRepository<Grupo, Long> {
     List<Grupo> findByGrado(String grado);
     
     Page<Grupo> findByEstado(Grupo.EstadoGrupo estado, Pageable pageable);
+    
+    @Query("SELECT new co.udistrital.academia.dto.GrupoResumen(" +
+           "g.id, g.nombre, g.grado, g.capacidad, g.estado, p.nombre, COUNT(e.id)) " +
+           "FROM Grupo g LEFT JOIN g.profesor p LEFT JOIN g.estudiantes e " +
+           "WHERE (:profesorId IS NULL OR p.id = :profesorId) " +
+           "GROUP BY g.id, g.nombre, g.grado, g.capacidad, g.estado, p.nombre " +
+           "ORDER BY g.id")
+    List<GrupoResumen> findResumenes(@Param("profesorId") Long profesorId);
+    
+    // Grupo con sus estudiantes ya cargados, para usarlo fuera de la transacción
+    @EntityGraph(attributePaths = "estudiantes")
+    @Query("SELECT g FROM Grupo g WHERE g.id = :id")
+    Optional<Grupo> findConEstudiantesById(@Param("id") Long id);
+    
+    // Incrementa la versión al confirmar: dos matrículas concurrentes sobre el mismo grupo no pueden confirmar ambas
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT g FROM Grupo g WHERE g.id = :id")
+    Optional<Grupo> findByIdParaMatricula(@Param("id") Long id);
 }
@@ -4,10 +4,14 @@ import co.udistrital.academia.entity.HistoriaAcademica;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface HistoriaAcademicaRepository extends JpaRepository<HistoriaAcademica, Long> {
     
     Optional<HistoriaAcademica> findByEstudianteId(Long estudianteId);
+    
+    List<HistoriaAcademica> findByEstudianteIdIn(Collection<Long> estudianteIds);
 }
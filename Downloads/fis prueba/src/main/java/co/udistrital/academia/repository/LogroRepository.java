@@ -1,15 +1,28 @@
 package co.udistrital.academia.repository;
 
 import co.udistrital.academia.entity.Logro;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
+/**
+ * Las consultas del catálogo van a la cache de consultas de Hibernate; cualquier escritura
+ * sobre logro por JPA (crear, actualizar, desactivar) invalida sus resultados.
+ */
 @Repository
 public interface LogroRepository extends JpaRepository<Logro, Long> {
-    
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Logro> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Logro> findByCategoria(Logro.Categoria categoria);
-    
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Logro> findByEstado(Logro.EstadoLogro estado);
 }
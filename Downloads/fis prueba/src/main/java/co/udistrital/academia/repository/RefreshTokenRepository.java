@@ -0,0 +1,37 @@
+package co.udistrital.academia.repository;
+
+import co.udistrital.academia.entity.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+    
+    // Token, credenciales y usuario en una consulta por el índice único de token_hash
+    @Query("SELECT r FROM RefreshToken r JOIN FETCH r.tokenUsuario t JOIN FETCH t.usuario " +
+           "WHERE r.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+    
+    // Devuelve 0 si otra petición ya usó el token
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.usado = true WHERE r.id = :id AND r.usado = false")
+    int marcarUsado(@Param("id") Long id);
+    
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.familia = :familia")
+    int deleteByFamilia(@Param("familia") String familia);
+    
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenUsuario.id = :tokenUsuarioId")
+    int deleteByTokenUsuarioId(@Param("tokenUsuarioId") Long tokenUsuarioId);
+    
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenUsuario.id = :tokenUsuarioId AND r.expiracion < :ahora")
+    int deleteVencidos(@Param("tokenUsuarioId") Long tokenUsuarioId, @Param("ahora") LocalDateTime ahora);
+}
@@ -0,0 +1,67 @@
+package co.udistrital.academia.repository;
+
+import co.udistrital.academia.dto.PromedioPeriodo;
+import co.udistrital.academia.entity.ResumenCalificacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ResumenCalificacionRepository extends JpaRepository<ResumenCalificacion, Long> {
+    
+    // Promedios por estudiante y periodo; periodo nulo incluye todos los periodos
+    String SELECT_PROMEDIO = "SELECT new co.udistrital.academia.dto.PromedioPeriodo(" +
+            "e.id, r.periodo, r.cantidad, r.suma / r.cantidad, r.minimo, r.maximo) " +
+            "FROM ResumenCalificacion r JOIN r.estudiante e WHERE r.cantidad > 0 ";
+    String FILTRO_PERIODO = "AND (:periodo IS NULL OR r.periodo = :periodo) ORDER BY e.id, r.periodo";
+    
+    @Query(SELECT_PROMEDIO + "AND e.id IN :estudianteIds " + FILTRO_PERIODO)
+    List<PromedioPeriodo> findPromediosByEstudianteIds(
+        @Param("estudianteIds") Collection<Long> estudianteIds, 
+        @Param("periodo") Integer periodo
+    );
+    
+    @Query(SELECT_PROMEDIO + "AND e.grupo.id = :grupoId " + FILTRO_PERIODO)
+    List<PromedioPeriodo> findPromediosByGrupoId(@Param("grupoId") Long grupoId, @Param("periodo") Integer periodo);
+    
+    @Query(SELECT_PROMEDIO + "AND e.grado = :grado " + FILTRO_PERIODO)
+    List<PromedioPeriodo> findPromediosByGrado(@Param("grado") String grado, @Param("periodo") Integer periodo);
+    
+    @Modifying
+    @Query("UPDATE ResumenCalificacion r SET r.suma = r.suma - cast(:valor as Double), r.cantidad = r.cantidad - 1 " +
+           "WHERE r.estudiante.id = :estudianteId AND r.periodo = :periodo")
+    int quitar(
+        @Param("estudianteId") Long estudianteId, 
+        @Param("periodo") Integer periodo, 
+        @Param("valor") double valor
+    );
+    
+    // Mínimo y máximo no se pueden restar: si el valor quitado era uno de ellos se recalculan
+    // con las calificaciones del estudiante en ese periodo
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ResumenCalificacion r SET " +
+           "r.minimo = (SELECT MIN(c.valor) FROM Calificacion c WHERE c.estudiante.id = :estudianteId AND c.periodo = :periodo), " +
+           "r.maximo = (SELECT MAX(c.valor) FROM Calificacion c WHERE c.estudiante.id = :estudianteId AND c.periodo = :periodo) " +
+           "WHERE r.estudiante.id = :estudianteId AND r.periodo = :periodo " +
+           "AND (r.minimo = :valor OR r.maximo = :valor)")
+    int recalcularExtremos(
+        @Param("estudianteId") Long estudianteId, 
+        @Param("periodo") Integer periodo, 
+        @Param("valor") double valor
+    );
+    
+    @Modifying
+    @Query("DELETE FROM ResumenCalificacion r")
+    int eliminarTodos();
+    
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO ResumenCalificacion (estudiante, periodo, suma, cantidad, minimo, maximo) " +
+           "SELECT c.estudiante, c.periodo, SUM(c.valor), COUNT(c), MIN(c.valor), MAX(c.valor) " +
+           "FROM Calificacion c GROUP BY c.estudiante, c.periodo")
+    int insertarDesdeCalificaciones();
+}
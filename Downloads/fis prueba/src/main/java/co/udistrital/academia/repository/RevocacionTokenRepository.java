@@ -0,0 +1,15 @@
+package co.udistrital.academia.repository;
+
+import co.udistrital.academia.entity.RevocacionToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevocacionTokenRepository extends JpaRepository<RevocacionToken, String> {
+    
+    // Revocaciones que aún pueden afectar a un token vigente
+    List<RevocacionToken> findByRevocadoDesdeAfter(LocalDateTime desde);
+}
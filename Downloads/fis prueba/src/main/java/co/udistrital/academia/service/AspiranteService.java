@@ -38,6 +38,12 @@ public class AspiranteService {
     @Autowired
     private co.udistrital.academia.repository.EstudianteRepository estudianteRepository;
 
+    @Autowired
+    private co.udistrital.academia.config.TokenRevocationRegistry revocationRegistry;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @Transactional
     public Aspirante crearAspirante(AspiranteCreateRequest request) {
         if (request.estudiantes() == null || request.estudiantes().isEmpty()) {
@@ -136,6 +142,8 @@ public class AspiranteService {
     public co.udistrital.academia.dto.ClaveTemporalResponse solicitarClaveTemporal(String correo) {
         // Generar clave temporal alfanumérica de 6 caracteres
         String claveTemporal = generarClaveTemporal();
+        // La clave temporal y la contraseña inicial son la misma: se codifica una sola vez
+        String hashTemporal = passwordEncoder.encode(claveTemporal);
         
         // Verificar si ya existe un usuario con ese correo
         Usuario usuario = usuarioRepository.findByCorreo(correo).orElse(null);
@@ -146,10 +154,12 @@ public class AspiranteService {
             if (usuario.getTokenUsuario() == null) {
                 usuario.setTokenUsuario(new co.udistrital.academia.entity.TokenUsuario());
             }
-            usuario.getTokenUsuario().setContrasenaTemporal(passwordEncoder.encode(claveTemporal));
+            usuario.getTokenUsuario().setContrasenaTemporal(hashTemporal);
             usuario.getTokenUsuario().setCambiarPass(true);
-            usuario.setPassword(passwordEncoder.encode(claveTemporal));
+            usuario.setPassword(hashTemporal);
             usuarioRepository.save(usuario);
+            revocationRegistry.revokeTokensIssuedBefore(usuario.getCorreo());
+            refreshTokenService.revocarTodos(usuario);
             
             // Buscar o crear aspirante
             Optional<Aspirante> aspiranteOpt = aspiranteRepository.findByUsuarioId(usuario.getId());
@@ -165,14 +175,14 @@ public class AspiranteService {
         } else {
             // Crear nuevo usuario y aspirante
             co.udistrital.academia.entity.TokenUsuario token = co.udistrital.academia.entity.TokenUsuario.builder()
-                    .contrasenaTemporal(passwordEncoder.encode(claveTemporal))
+                    .contrasenaTemporal(hashTemporal)
                     .cambiarPass(true)
                     .build();
             
             usuario = Usuario.builder()
                     .nombre("Aspirante")
                     .correo(correo)
-                    .password(passwordEncoder.encode(claveTemporal))
+                    .password(hashTemporal)
                     .rol(Usuario.Rol.ASPIRANTE)
                     .estado(true)
                     .tokenUsuario(token)
@@ -266,11 +276,12 @@ public class AspiranteService {
 
         // Generar clave temporal (8 caracteres alfanuméricos)
         String claveTemporal = generarClaveTemporal(8);
+        String hashTemporal = passwordEncoder.encode(claveTemporal);
 
         // Crear TokenUsuario
         co.udistrital.academia.entity.TokenUsuario tokenUsuario = co.udistrital.academia.entity.TokenUsuario.builder()
                 .usuarioTemporal(request.getCorreo())
-                .contrasenaTemporal(passwordEncoder.encode(claveTemporal))
+                .contrasenaTemporal(hashTemporal)
                 .cambiarPass(false) // No requiere cambio de contraseña
                 .build();
         tokenUsuario = tokenUsuarioRepository.save(tokenUsuario);
@@ -279,7 +290,7 @@ public class AspiranteService {
         Usuario usuario = Usuario.builder()
                 .nombre(request.getNombreAcudiente() + " " + request.getApellidoAcudiente())
                 .correo(request.getCorreo())
-                .password(passwordEncoder.encode(claveTemporal))
+                .password(hashTemporal)
                 .rol(Usuario.Rol.ASPIRANTE)
                 .estado(true)
                 .tokenUsuario(tokenUsuario)
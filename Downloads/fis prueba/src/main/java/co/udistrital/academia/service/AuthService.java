@@ -1,6 +1,7 @@
 package co.udistrital.academia.service;
 
 import co.udistrital.academia.config.JwtTokenProvider;
+import co.udistrital.academia.config.TokenRevocationRegistry;
 import co.udistrital.academia.dto.FirstLoginRequest;
 import co.udistrital.academia.dto.LoginRequest;
 import co.udistrital.academia.dto.TokenResponse;
@@ -33,6 +34,12 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     @Transactional
     public TokenResponse login(LoginRequest request) {
         Usuario usuario = usuarioRepository.findByCorreo(request.correo())
@@ -52,9 +59,11 @@ public class AuthService {
         );
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
+        String jwt = tokenProvider.generateToken(authentication, usuario.getId());
+        String refreshToken = refreshTokenService.emitir(usuario);
 
         return new TokenResponse(jwt, tokenProvider.getJwtExpirationInMs(), 
+            refreshToken, tokenProvider.getJwtRefreshExpirationInMs(),
             usuario.getId(), usuario.getNombre(), usuario.getCorreo(), usuario.getRol().name(), cambiarPass);
     }
 
@@ -77,11 +86,15 @@ public class AuthService {
         tokenUsuario.setContrasenaTemporal(null);
         tokenUsuario.setCambiarPass(false);
         usuarioRepository.save(usuario);
+        revocationRegistry.revokeTokensIssuedBefore(usuario.getCorreo());
+        refreshTokenService.revocarTodos(usuario);
 
         // Generar token JWT
         String jwt = tokenProvider.generateTokenFromUsername(usuario.getCorreo(), usuario.getRol().name(), usuario.getId());
+        String refreshToken = refreshTokenService.emitir(usuario);
 
         return new TokenResponse(jwt, tokenProvider.getJwtExpirationInMs(),
+            refreshToken, tokenProvider.getJwtRefreshExpirationInMs(),
             usuario.getId(), usuario.getNombre(), usuario.getCorreo(), usuario.getRol().name(), false);
     }
 
@@ -100,5 +113,7 @@ public class AuthService {
             usuario.getTokenUsuario().setCambiarPass(false);
         }
         usuarioRepository.save(usuario);
+        revocationRegistry.revokeTokensIssuedBefore(usuario.getCorreo());
+        refreshTokenService.revocarTodos(usuario);
     }
 }
@@ -0,0 +1,298 @@
+package co.udistrital.academia.service;
+
+import co.udistrital.academia.dto.BoletinLoteRequest;
+import co.udistrital.academia.dto.BoletinLoteResponse;
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.EstadisticaEstudiante;
+import co.udistrital.academia.dto.EstudianteBoletin;
+import co.udistrital.academia.exception.InvalidOperationException;
+import co.udistrital.academia.exception.ResourceNotFoundException;
+import co.udistrital.academia.exception.TooManyRequestsException;
+import co.udistrital.academia.repository.CalificacionRepository;
+import co.udistrital.academia.repository.EstudianteRepository;
+import co.udistrital.academia.repository.GrupoRepository;
+import co.udistrital.academia.util.PdfGenerator;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Generación masiva de boletines para un grupo o un grado al cierre de periodo.
+ * Los trabajos se ejecutan de a uno en segundo plano, con una cola acotada (429 al llenarse); los estudiantes se procesan por bloques
+ * (una consulta de estudiantes y una de calificaciones por bloque), los PDF de cada bloque se
+ * generan en paralelo en un pool acotado y se escriben en un ZIP del directorio de spool.
+ * La memoria usada depende del tamaño del bloque, no del número de estudiantes.
+ */
+@Service
+public class BoletinLoteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoletinLoteService.class);
+
+    @Autowired
+    private GrupoRepository grupoRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private CalificacionRepository calificacionRepository;
+
+    @Autowired
+    private PdfGenerator pdfGenerator;
+
+    @Autowired
+    private EstadisticaService estadisticaService;
+
+    @Value("${reportes.spool-dir}")
+    private String spoolDir;
+
+    @Value("${reportes.hilos:4}")
+    private int hilos;
+
+    @Value("${reportes.bloque:50}")
+    private int tamanoBloque;
+
+    // Trabajos en espera además del que está en proceso
+    @Value("${reportes.cola-max:10}")
+    private int colaMax;
+
+    // PDF en espera en el pool de generadores, compartido con el cierre de periodo
+    @Value("${reportes.cola-pdf:100}")
+    private int colaPdf;
+
+    @Value("${reportes.retencion-horas:24}")
+    private long retencionHoras;
+
+    private final Map<String, Lote> lotes = new ConcurrentHashMap<>();
+
+    private Path spool;
+    private ExecutorService coordinador;
+    private ExecutorService generadores;
+
+    @PostConstruct
+    public void init() throws IOException {
+        spool = Files.createDirectories(Paths.get(spoolDir));
+        coordinador = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(colaMax),
+                r -> new Thread(r, "boletines-lote"));
+        AtomicInteger contador = new AtomicInteger();
+        // Cola acotada: con la cola llena el PDF lo genera el hilo que lo envía (coordinador o cierre de periodo)
+        generadores = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(colaPdf),
+                r -> new Thread(r, "boletines-pdf-" + contador.incrementAndGet()),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinador.shutdownNow();
+        generadores.shutdownNow();
+    }
+
+    public BoletinLoteResponse iniciar(BoletinLoteRequest request) {
+        validarAlcance(request);
+        purgarAntiguos();
+
+        // Con grupo, el grado viene vacío o nulo
+        String grado = request.grupoId() != null ? null : request.grado();
+        Lote lote = new Lote(UUID.randomUUID().toString(), request.grupoId(), grado, request.periodo());
+        lotes.put(lote.id, lote);
+        try {
+            coordinador.execute(() -> ejecutar(lote));
+        } catch (RejectedExecutionException e) {
+            lotes.remove(lote.id);
+            throw new TooManyRequestsException("Hay demasiados trabajos de boletines en cola. Intente más tarde", 60);
+        }
+
+        return lote.toResponse();
+    }
+
+    /**
+     * Exige exactamente uno de grupo o grado, y que el grupo exista.
+     */
+    public void validarAlcance(BoletinLoteRequest request) {
+        boolean porGrupo = request.grupoId() != null;
+        boolean porGrado = request.grado() != null && !request.grado().isBlank();
+        if (porGrupo == porGrado) {
+            throw new InvalidOperationException("Debe indicar un grupo o un grado, pero no ambos");
+        }
+        if (porGrupo && !grupoRepository.existsById(request.grupoId())) {
+            throw new ResourceNotFoundException("Grupo no encontrado");
+        }
+    }
+
+    /**
+     * Genera el PDF de un boletín en el pool de generadores. El cierre de periodo lo usa
+     * para renderizar fuera de su transacción.
+     */
+    public CompletableFuture<byte[]> generarPdf(EstudianteBoletin est, List<CalificacionFila> filas,
+                                                Integer periodo, EstadisticaEstudiante estadistica) {
+        return CompletableFuture.supplyAsync(() -> pdfGenerator.generarBoletin(est, filas, periodo, estadistica),
+                generadores);
+    }
+
+    public BoletinLoteResponse consultarEstado(String id) {
+        return buscar(id).toResponse();
+    }
+
+    public Path obtenerArchivo(String id) {
+        Lote lote = buscar(id);
+        if (lote.estado != EstadoLote.COMPLETADO) {
+            throw new InvalidOperationException("El trabajo aún no ha finalizado: " + lote.estado);
+        }
+        return lote.archivo;
+    }
+
+    private Lote buscar(String id) {
+        Lote lote = lotes.get(id);
+        if (lote == null) {
+            throw new ResourceNotFoundException("Trabajo de boletines no encontrado");
+        }
+        return lote;
+    }
+
+    private void ejecutar(Lote lote) {
+        lote.estado = EstadoLote.EN_PROCESO;
+        Path parcial = spool.resolve(lote.id + ".zip.part");
+        try {
+            List<Long> ids = estudianteRepository.findIdsParaBoletines(lote.grupoId, lote.grado);
+            lote.total = ids.size();
+
+            try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(parcial))) {
+                for (int desde = 0; desde < ids.size(); desde += tamanoBloque) {
+                    List<Long> bloque = ids.subList(desde, Math.min(desde + tamanoBloque, ids.size()));
+                    procesarBloque(lote, bloque, zip);
+                }
+            }
+
+            Path archivo = spool.resolve(lote.id + ".zip");
+            Files.move(parcial, archivo, StandardCopyOption.REPLACE_EXISTING);
+            lote.archivo = archivo;
+            lote.estado = EstadoLote.COMPLETADO;
+        } catch (Exception e) {
+            logger.error("Error en el trabajo de boletines " + lote.id, e);
+            lote.mensaje = e.getMessage();
+            lote.estado = EstadoLote.FALLIDO;
+            eliminar(parcial);
+        } finally {
+            lote.finalizado = LocalDateTime.now();
+        }
+    }
+
+    private void procesarBloque(Lote lote, List<Long> ids, ZipOutputStream zip) throws IOException {
+        List<EstudianteBoletin> estudiantes = estudianteRepository.findParaBoletinByIds(ids);
+        Map<Long, List<CalificacionFila>> filasPorEstudiante = calificacionRepository
+                .findFilasByEstudianteIdsAndPeriodo(ids, lote.periodo).stream()
+                .collect(Collectors.groupingBy(CalificacionFila::estudianteId));
+
+        Map<Long, EstadisticaEstudiante> estadisticas = estadisticaService.porEstudiantes(ids, lote.periodo);
+
+        List<CompletableFuture<byte[]>> pdfs = new ArrayList<>(estudiantes.size());
+        for (EstudianteBoletin est : estudiantes) {
+            List<CalificacionFila> filas = filasPorEstudiante.getOrDefault(est.id(), List.of());
+            EstadisticaEstudiante estadistica = estadisticas.getOrDefault(est.id(),
+                    EstadisticaService.resumir(est.id(), List.of()));
+            pdfs.add(generarPdf(est, filas, lote.periodo, estadistica));
+        }
+
+        // Se escriben en orden a medida que terminan; el bloque siguiente no empieza hasta vaciar este
+        for (int i = 0; i < estudiantes.size(); i++) {
+            EstudianteBoletin est = estudiantes.get(i);
+            try {
+                byte[] pdf = pdfs.get(i).join();
+                zip.putNextEntry(new ZipEntry(nombreEntrada(est)));
+                zip.write(pdf);
+                zip.closeEntry();
+                lote.generados.incrementAndGet();
+            } catch (RuntimeException e) {
+                logger.warn("No se pudo generar el boletín del estudiante " + est.id() + ": " + e.getMessage());
+                lote.fallidos.incrementAndGet();
+            }
+        }
+    }
+
+    private String nombreEntrada(EstudianteBoletin est) {
+        String carpeta = est.grupoNombre() != null ? est.grupoNombre() : "sin_grupo";
+        return carpeta.replaceAll("[^\\p{L}\\p{N}_-]+", "_") + "/boletin_estudiante_" + est.id() + ".pdf";
+    }
+
+    // Elimina los trabajos finalizados (y sus archivos) que superan la retención configurada.
+    // Corre también programada para no depender de que llegue un trabajo nuevo.
+    @Scheduled(fixedDelayString = "${reportes.purga-intervalo:3600000}")
+    public void purgarAntiguos() {
+        LocalDateTime limite = LocalDateTime.now().minusHours(retencionHoras);
+        lotes.values().removeIf(lote -> {
+            if (lote.finalizado == null || lote.finalizado.isAfter(limite)) {
+                return false;
+            }
+            if (lote.archivo != null) {
+                eliminar(lote.archivo);
+            }
+            return true;
+        });
+    }
+
+    private void eliminar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            logger.warn("No se pudo eliminar " + archivo + ": " + e.getMessage());
+        }
+    }
+
+    public enum EstadoLote {
+        EN_COLA, EN_PROCESO, COMPLETADO, FALLIDO
+    }
+
+    private static class Lote {
+        final String id;
+        final Long grupoId;
+        final String grado;
+        final Integer periodo;
+        final LocalDateTime creado = LocalDateTime.now();
+        final AtomicInteger generados = new AtomicInteger();
+        final AtomicInteger fallidos = new AtomicInteger();
+        volatile EstadoLote estado = EstadoLote.EN_COLA;
+        volatile int total;
+        volatile String mensaje;
+        volatile Path archivo;
+        volatile LocalDateTime finalizado;
+
+        Lote(String id, Long grupoId, String grado, Integer periodo) {
+            this.id = id;
+            this.grupoId = grupoId;
+            this.grado = grado;
+            this.periodo = periodo;
+        }
+
+        BoletinLoteResponse toResponse() {
+            return new BoletinLoteResponse(id, estado.name(), grupoId, grado, periodo,
+                    total, generados.get(), fallidos.get(), mensaje, creado, finalizado);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package co.udistrital.academia.service;
+
+import co.udistrital.academia.dto.BoletinLoteRequest;
+import co.udistrital.academia.dto.BoletinResumen;
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.CierrePeriodoResponse;
+import co.udistrital.academia.dto.EstadisticaEstudiante;
+import co.udistrital.academia.dto.EstudianteBoletin;
+import co.udistrital.academia.dto.PromedioPeriodo;
+import co.udistrital.academia.entity.Boletin;
+import co.udistrital.academia.entity.BoletinPdf;
+import co.udistrital.academia.entity.HistoriaAcademica;
+import co.udistrital.academia.exception.ResourceNotFoundException;
+import co.udistrital.academia.repository.BoletinPdfRepository;
+import co.udistrital.academia.repository.BoletinRepository;
+import co.udistrital.academia.repository.CalificacionRepository;
+import co.udistrital.academia.repository.EstudianteRepository;
+import co.udistrital.academia.repository.HistoriaAcademicaRepository;
+import co.udistrital.academia.repository.LogroRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Boletines consolidados: al cerrar un periodo se calcula una sola vez el promedio y el estado
+ * de cada estudiante y se guarda como Boletin (con su PDF en boletin_pdf) en su historia académica.
+ * Después, la consulta de un periodo cerrado es la lectura de una fila.
+ */
+@Service
+public class BoletinService {
+
+    @Autowired
+    private BoletinRepository boletinRepository;
+
+    @Autowired
+    private HistoriaAcademicaRepository historiaAcademicaRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private CalificacionRepository calificacionRepository;
+
+    @Autowired
+    private LogroRepository logroRepository;
+
+    @Autowired
+    private BoletinLoteService boletinLoteService;
+
+    @Autowired
+    private BoletinPdfRepository boletinPdfRepository;
+
+    @Autowired
+    private EstadisticaService estadisticaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${reportes.bloque:50}")
+    private int tamanoBloque;
+
+    /**
+     * Cierra un periodo para un grupo o un grado. Se procesa por bloques de estudiantes,
+     * cada uno guardado en su propia transacción; volver a cerrar un periodo recalcula sus boletines.
+     */
+    public CierrePeriodoResponse cerrarPeriodo(BoletinLoteRequest request) {
+        boletinLoteService.validarAlcance(request);
+
+        String grado = request.grupoId() != null ? null : request.grado();
+        List<Long> ids = estudianteRepository.findIdsParaBoletines(request.grupoId(), grado);
+        Conteo conteo = new Conteo();
+        for (int desde = 0; desde < ids.size(); desde += tamanoBloque) {
+            List<Long> bloque = ids.subList(desde, Math.min(desde + tamanoBloque, ids.size()));
+            cerrarBloque(bloque, request.periodo(), conteo);
+        }
+
+        return new CierrePeriodoResponse(request.periodo(), ids.size(),
+                conteo.creados, conteo.actualizados, conteo.sinCalificaciones);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BoletinResumen> consultarHistoria(Long estudianteId) {
+        if (!estudianteRepository.existsById(estudianteId)) {
+            throw new ResourceNotFoundException("Estudiante no encontrado");
+        }
+        return boletinRepository.findResumenesByEstudianteId(estudianteId);
+    }
+
+    /**
+     * Lee los datos del bloque, genera los PDF en el pool de BoletinLoteService sin transacción
+     * abierta y solo después guarda boletines y PDF en una transacción corta.
+     */
+    private void cerrarBloque(List<Long> ids, Integer periodo, Conteo conteo) {
+        List<EstudianteBoletin> estudiantes = estudianteRepository.findParaBoletinByIds(ids);
+        Map<Long, List<CalificacionFila>> filasPorEstudiante = calificacionRepository
+                .findFilasByEstudianteIdsAndPeriodo(ids, periodo).stream()
+                .collect(Collectors.groupingBy(CalificacionFila::estudianteId));
+        Map<Long, EstadisticaEstudiante> estadisticas = estadisticaService.porEstudiantes(ids, periodo);
+
+        List<EstudianteBoletin> conNotas = new ArrayList<>();
+        List<CompletableFuture<byte[]>> pdfs = new ArrayList<>();
+        for (EstudianteBoletin est : estudiantes) {
+            List<CalificacionFila> filas = filasPorEstudiante.get(est.id());
+            // Sin fila en resumen_calificacion el boletín sale igual; el promedio se toma de las filas
+            EstadisticaEstudiante estadistica = estadisticas.getOrDefault(est.id(),
+                    EstadisticaService.resumir(est.id(), List.of()));
+            if (filas == null) {
+                conteo.sinCalificaciones++;
+                continue;
+            }
+            conNotas.add(est);
+            pdfs.add(boletinLoteService.generarPdf(est, filas, periodo, estadistica));
+        }
+        if (conNotas.isEmpty()) {
+            return;
+        }
+        // Si falla un PDF el bloque no se guarda, igual que antes
+        List<byte[]> contenidos = pdfs.stream().map(CompletableFuture::join).toList();
+
+        transactionTemplate.executeWithoutResult(status ->
+                guardarBloque(conNotas, contenidos, filasPorEstudiante, estadisticas, periodo, conteo));
+    }
+
+    private void guardarBloque(List<EstudianteBoletin> estudiantes, List<byte[]> contenidos,
+                               Map<Long, List<CalificacionFila>> filasPorEstudiante,
+                               Map<Long, EstadisticaEstudiante> estadisticas, Integer periodo, Conteo conteo) {
+        List<Long> ids = estudiantes.stream().map(EstudianteBoletin::id).toList();
+        Map<Long, Boletin> existentes = boletinRepository.findByEstudianteIdInAndPeriodo(ids, periodo).stream()
+                .collect(Collectors.toMap(b -> b.getEstudiante().getId(), Function.identity()));
+        Map<Long, HistoriaAcademica> historias = historiaAcademicaRepository.findByEstudianteIdIn(ids).stream()
+                .collect(Collectors.toMap(h -> h.getEstudiante().getId(), Function.identity()));
+
+        List<Boletin> boletines = new ArrayList<>();
+        for (EstudianteBoletin est : estudiantes) {
+            EstadisticaEstudiante estadistica = estadisticas.get(est.id());
+            double promedio = estadistica != null && estadistica.promedioGeneral() != null
+                    ? estadistica.promedioGeneral()
+                    : filasPorEstudiante.get(est.id()).stream().mapToDouble(CalificacionFila::valor).average().orElse(0);
+
+            Boletin boletin = existentes.get(est.id());
+            if (boletin == null) {
+                HistoriaAcademica historia = historias.computeIfAbsent(est.id(), id ->
+                        historiaAcademicaRepository.save(HistoriaAcademica.builder()
+                                .estudiante(estudianteRepository.getReferenceById(id))
+                                .build()));
+                boletin = Boletin.builder()
+                        .periodo(periodo)
+                        .estudiante(estudianteRepository.getReferenceById(est.id()))
+                        .historiaAcademica(historia)
+                        .build();
+                conteo.creados++;
+            } else {
+                conteo.actualizados++;
+            }
+
+            boletin.setFecha(LocalDate.now());
+            boletin.setPromedio(promedio);
+            boletin.setAprobado(promedio >= PromedioPeriodo.NOTA_APROBATORIA);
+            boletin.setLogros(filasPorEstudiante.get(est.id()).stream()
+                    .map(f -> logroRepository.getReferenceById(f.logroId()))
+                    .distinct()
+                    .collect(Collectors.toCollection(ArrayList::new)));
+            boletines.add(boletin);
+        }
+        boletinRepository.saveAll(boletines);
+
+        List<BoletinPdf> nuevos = new ArrayList<>();
+        for (int i = 0; i < boletines.size(); i++) {
+            Boletin boletin = boletines.get(i);
+            byte[] contenido = contenidos.get(i);
+            // Un boletín nuevo no tiene PDF; uno existente lo reemplaza sin leer el anterior
+            boolean existia = existentes.containsKey(estudiantes.get(i).id());
+            if (!existia || boletinPdfRepository.actualizar(boletin.getId(), contenido) == 0) {
+                nuevos.add(BoletinPdf.builder().boletin(boletin).contenido(contenido).build());
+            }
+        }
+        boletinPdfRepository.saveAll(nuevos);
+    }
+
+    private static class Conteo {
+        int creados;
+        int actualizados;
+        int sinCalificaciones;
+    }
+}
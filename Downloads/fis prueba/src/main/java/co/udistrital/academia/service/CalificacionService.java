@@ -1,5 +1,8 @@
 package co.udistrital.academia.service;
 
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.CalificacionLoteRequest;
+import co.udistrital.academia.dto.CalificacionLoteResponse;
 import co.udistrital.academia.dto.CalificacionRequest;
 import co.udistrital.academia.dto.CalificacionResponse;
 import co.udistrital.academia.dto.EstudianteSimpleResponse;
@@ -12,6 +15,7 @@ import co.udistrital.academia.exception.InvalidOperationException;
 import co.udistrital.academia.exception.ResourceNotFoundException;
 import co.udistrital.academia.repository.CalificacionRepository;
 import co.udistrital.academia.repository.EstudianteRepository;
+import co.udistrital.academia.repository.GrupoRepository;
 import co.udistrital.academia.repository.LogroRepository;
 import co.udistrital.academia.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,12 +26,19 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class CalificacionService {
 
+    private static final String YA_CALIFICADO = "Ya existe una calificación para este logro en el periodo";
+
     @Autowired
     private CalificacionRepository calificacionRepository;
 
@@ -40,6 +51,15 @@ public class CalificacionService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private GrupoRepository grupoRepository;
+
+    @Autowired
+    private ReporteService reporteService;
+
+    @Autowired
+    private ResumenCalificacionService resumenCalificacionService;
+
     @Transactional
     public CalificacionResponse crearCalificacion(CalificacionRequest request) {
         Logro logro = logroRepository.findById(request.logroId())
@@ -60,6 +80,12 @@ public class CalificacionService {
             throw new InvalidOperationException("La calificación debe estar entre 1.0 y 5.0");
         }
 
+        // Misma regla que la planilla; la restricción única cubre la carrera entre dos peticiones
+        if (calificacionRepository.existsByEstudianteIdAndLogroIdAndPeriodo(
+                estudiante.getId(), logro.getId(), request.periodo())) {
+            throw new InvalidOperationException(YA_CALIFICADO);
+        }
+
         Calificacion calificacion = Calificacion.builder()
                 .valor(request.valor())
                 .periodo(request.periodo())
@@ -69,6 +95,8 @@ public class CalificacionService {
                 .build();
 
         calificacion = calificacionRepository.save(calificacion);
+        resumenCalificacionService.agregar(calificacion);
+        reporteService.invalidarBoletines(estudiante.getId(), calificacion.getPeriodo());
         return toResponse(calificacion);
     }
 
@@ -89,21 +117,127 @@ public class CalificacionService {
             throw new InvalidOperationException("La calificación debe estar entre 1.0 y 5.0");
         }
 
+        if (!calificacion.getPeriodo().equals(request.periodo())
+                && calificacionRepository.existsByEstudianteIdAndLogroIdAndPeriodoAndIdNot(
+                        calificacion.getEstudiante().getId(), calificacion.getLogro().getId(),
+                        request.periodo(), calificacion.getId())) {
+            throw new InvalidOperationException(YA_CALIFICADO);
+        }
+
+        Integer periodoAnterior = calificacion.getPeriodo();
+        Double valorAnterior = calificacion.getValor();
         calificacion.setValor(request.valor());
         calificacion.setPeriodo(request.periodo());
 
         calificacion = calificacionRepository.save(calificacion);
+        resumenCalificacionService.reemplazar(calificacion, periodoAnterior, valorAnterior);
+        reporteService.invalidarBoletines(calificacion.getEstudiante().getId(), periodoAnterior);
+        if (!periodoAnterior.equals(calificacion.getPeriodo())) {
+            reporteService.invalidarBoletines(calificacion.getEstudiante().getId(), calificacion.getPeriodo());
+        }
         return toResponse(calificacion);
     }
 
+    /**
+     * Registra una planilla completa en una transacción.
+     * Valida en memoria contra el grupo, los logros y las calificaciones ya existentes
+     * (una consulta IN por cada uno) y guarda todas las filas válidas juntas.
+     * Las filas inválidas se reportan como RECHAZADA sin abortar el resto.
+     */
+    @Transactional
+    public CalificacionLoteResponse registrarCalificacionesLote(CalificacionLoteRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Usuario profesor = usuarioRepository.findByCorreo(auth.getName())
+                .orElseThrow(() -> new ResourceNotFoundException("Profesor no encontrado"));
+
+        if (!profesor.getRol().equals(Usuario.Rol.PROFESOR)) {
+            throw new InvalidOperationException("Solo los profesores pueden crear calificaciones");
+        }
+
+        if (!grupoRepository.existsById(request.grupoId())) {
+            throw new ResourceNotFoundException("Grupo no encontrado");
+        }
+
+        Set<Long> estudiantesDelGrupo = new HashSet<>(estudianteRepository.findIdsByGrupoId(request.grupoId()));
+
+        Set<Long> logroIds = request.estudiantes().stream()
+                .flatMap(fila -> fila.valores().keySet().stream())
+                .collect(Collectors.toSet());
+        Map<Long, Logro> logros = logroRepository.findAllById(logroIds).stream()
+                .collect(Collectors.toMap(Logro::getId, Function.identity()));
+
+        Set<String> yaCalificados = new HashSet<>();
+        if (!estudiantesDelGrupo.isEmpty()) {
+            for (Object[] par : calificacionRepository.findParesCalificados(request.periodo(), estudiantesDelGrupo)) {
+                yaCalificados.add(par[0] + ":" + par[1]);
+            }
+        }
+
+        List<CalificacionLoteResponse.Resultado> resultados = new ArrayList<>();
+        List<Calificacion> nuevas = new ArrayList<>();
+        List<Integer> posiciones = new ArrayList<>();
+
+        for (CalificacionLoteRequest.FilaEstudiante fila : request.estudiantes()) {
+            for (Map.Entry<Long, Double> celda : fila.valores().entrySet()) {
+                Long logroId = celda.getKey();
+                Double valor = celda.getValue();
+                String error = null;
+
+                if (!estudiantesDelGrupo.contains(fila.estudianteId())) {
+                    error = "El estudiante no pertenece al grupo";
+                } else if (!logros.containsKey(logroId)) {
+                    error = "Logro no encontrado";
+                } else if (valor == null || valor < 1.0 || valor > 5.0) {
+                    error = "La calificación debe estar entre 1.0 y 5.0";
+                } else if (!yaCalificados.add(fila.estudianteId() + ":" + logroId)) {
+                    error = YA_CALIFICADO;
+                }
+
+                if (error != null) {
+                    resultados.add(new CalificacionLoteResponse.Resultado(
+                            fila.estudianteId(), logroId, null, "RECHAZADA", error));
+                    continue;
+                }
+
+                nuevas.add(Calificacion.builder()
+                        .valor(valor)
+                        .periodo(request.periodo())
+                        .logro(logros.get(logroId))
+                        .estudiante(estudianteRepository.getReferenceById(fila.estudianteId()))
+                        .profesor(profesor)
+                        .build());
+                posiciones.add(resultados.size());
+                resultados.add(null);
+            }
+        }
+
+        List<Calificacion> guardadas = calificacionRepository.saveAll(nuevas);
+        resumenCalificacionService.agregar(guardadas);
+        reporteService.invalidarBoletines(guardadas.stream()
+                .map(c -> c.getEstudiante().getId())
+                .collect(Collectors.toSet()), request.periodo());
+        for (int i = 0; i < guardadas.size(); i++) {
+            Calificacion c = guardadas.get(i);
+            resultados.set(posiciones.get(i), new CalificacionLoteResponse.Resultado(
+                    c.getEstudiante().getId(), c.getLogro().getId(), c.getId(), "CREADA", null));
+        }
+
+        return new CalificacionLoteResponse(
+                resultados.size(),
+                guardadas.size(),
+                resultados.size() - guardadas.size(),
+                resultados
+        );
+    }
+
     @Transactional(readOnly = true)
     public List<CalificacionResponse> consultarCalificaciones(Long estudianteId, Integer periodo) {
-        List<Calificacion> calificaciones;
+        List<CalificacionFila> calificaciones;
 
         if (periodo != null) {
-            calificaciones = calificacionRepository.findByEstudianteIdAndPeriodo(estudianteId, periodo);
+            calificaciones = calificacionRepository.findFilasByEstudianteIdAndPeriodo(estudianteId, periodo);
         } else {
-            calificaciones = calificacionRepository.findByEstudianteId(estudianteId);
+            calificaciones = calificacionRepository.findFilasByEstudianteId(estudianteId);
         }
 
         return calificaciones.stream()
@@ -113,19 +247,47 @@ public class CalificacionService {
 
     @Transactional(readOnly = true)
     public Page<CalificacionResponse> listarCalificacionesPaginadas(Pageable pageable, Long estudianteId, Integer periodo) {
-        Page<Calificacion> calificaciones;
+        Page<CalificacionFila> calificaciones;
 
         if (estudianteId != null && periodo != null) {
-            calificaciones = calificacionRepository.findByEstudianteIdAndPeriodo(estudianteId, periodo, pageable);
+            calificaciones = calificacionRepository.findFilasByEstudianteIdAndPeriodo(estudianteId, periodo, pageable);
         } else if (estudianteId != null) {
-            calificaciones = calificacionRepository.findByEstudianteId(estudianteId, pageable);
+            calificaciones = calificacionRepository.findFilasByEstudianteId(estudianteId, pageable);
         } else {
-            calificaciones = calificacionRepository.findAll(pageable);
+            calificaciones = calificacionRepository.findFilas(pageable);
         }
 
         return calificaciones.map(this::toResponse);
     }
 
+    private CalificacionResponse toResponse(CalificacionFila fila) {
+        LogroResponse logroResponse = new LogroResponse(
+                fila.logroId(),
+                fila.logroNombre(),
+                fila.logroDescripcion(),
+                fila.logroCategoria().name(),
+                fila.logroEstado().name()
+        );
+
+        EstudianteSimpleResponse estudianteResponse = new EstudianteSimpleResponse(
+                fila.estudianteId(),
+                fila.estudianteNombre(),
+                fila.estudianteApellido(),
+                fila.estudianteGrado(),
+                fila.estudianteRegCivil(),
+                fila.estudianteEstado().name()
+        );
+
+        return new CalificacionResponse(
+                fila.id(),
+                fila.valor(),
+                fila.periodo(),
+                logroResponse,
+                estudianteResponse,
+                fila.profesorNombre()
+        );
+    }
+
     private CalificacionResponse toResponse(Calificacion calificacion) {
         LogroResponse logroResponse = new LogroResponse(
                 calificacion.getLogro().getId(),
@@ -2,6 +2,7 @@ package co.udistrital.academia.service;
 
 import co.udistrital.academia.dto.CitacionRequest;
 import co.udistrital.academia.dto.CitacionResponse;
+import co.udistrital.academia.dto.ParticipanteCitacion;
 import co.udistrital.academia.entity.Aspirante;
 import co.udistrital.academia.entity.Citacion;
 import co.udistrital.academia.entity.Usuario;
@@ -9,14 +10,18 @@ import co.udistrital.academia.exception.InvalidOperationException;
 import co.udistrital.academia.exception.ResourceNotFoundException;
 import co.udistrital.academia.repository.AspiranteRepository;
 import co.udistrital.academia.repository.CitacionRepository;
+import co.udistrital.academia.repository.CitacionSpecifications;
 import co.udistrital.academia.repository.UsuarioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -112,79 +117,59 @@ public class CitacionService {
             throw new InvalidOperationException("Tipo de citación inválido: " + tipo);
         }
 
-        return citacionRepository.findByTipo(tipoCitacion).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(citacionRepository.findAll(
+                CitacionSpecifications.conTipo(tipoCitacion), Sort.by("fecha", "id")));
     }
 
     @Transactional(readOnly = true)
     public List<CitacionResponse> listarCitaciones(String tipo, Long profesorId, Long acudienteId) {
-        List<Citacion> citaciones = citacionRepository.findAll();
-
-        // Filtrar por tipo si se proporciona
-        if (tipo != null && !tipo.isEmpty()) {
-            try {
-                Citacion.TipoCitacion tipoCitacion = Citacion.TipoCitacion.valueOf(tipo.toUpperCase());
-                citaciones = citaciones.stream()
-                    .filter(c -> c.getTipo().equals(tipoCitacion))
-                    .collect(Collectors.toList());
-            } catch (IllegalArgumentException e) {
-                throw new InvalidOperationException("Tipo de citación inválido: " + tipo);
-            }
-        }
+        Specification<Citacion> filtro = Specification
+                .where(CitacionSpecifications.conTipo(parseTipo(tipo)))
+                .and(CitacionSpecifications.conProfesor(profesorId))
+                .and(CitacionSpecifications.conAcudiente(acudienteId));
 
-        // Filtrar por profesor si se proporciona
-        if (profesorId != null) {
-            citaciones = citaciones.stream()
-                .filter(c -> c.getProfesores().stream()
-                    .anyMatch(p -> p.getId().equals(profesorId)))
-                .collect(Collectors.toList());
-        }
+        return toResponses(citacionRepository.findAll(filtro, Sort.by("fecha", "id")));
+    }
 
-        // Filtrar por acudiente si se proporciona
-        if (acudienteId != null) {
-            citaciones = citaciones.stream()
-                .filter(c -> c.getAcudientes().stream()
-                    .anyMatch(a -> a.getId().equals(acudienteId)))
-                .collect(Collectors.toList());
-        }
+    /**
+     * Búsqueda paginada con todos los filtros resueltos en la consulta.
+     * El orden (fecha y luego id) se toma del Pageable recibido.
+     */
+    @Transactional(readOnly = true)
+    public Page<CitacionResponse> listarCitacionesPaginadas(Pageable pageable, String tipo, String estado,
+                                                            Long profesorId, Long acudienteId) {
+        Specification<Citacion> filtro = Specification
+                .where(CitacionSpecifications.conTipo(parseTipo(tipo)))
+                .and(CitacionSpecifications.conEstado(parseEstado(estado)))
+                .and(CitacionSpecifications.conProfesor(profesorId))
+                .and(CitacionSpecifications.conAcudiente(acudienteId));
 
-        return citaciones.stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        Page<Citacion> citaciones = citacionRepository.findAll(filtro, pageable);
+        Map<Long, List<ParticipanteCitacion>> participantes = cargarParticipantes(citaciones.getContent());
+
+        return citaciones.map(c -> toResponse(c, participantes.getOrDefault(c.getId(), List.of())));
     }
 
-    @Transactional(readOnly = true)
-    public Page<CitacionResponse> listarCitacionesPaginadas(Pageable pageable, String tipo, String estado) {
-        Page<Citacion> citaciones;
-
-        if (tipo != null && !tipo.isEmpty() && estado != null && !estado.isEmpty()) {
-            try {
-                Citacion.TipoCitacion tipoEnum = Citacion.TipoCitacion.valueOf(tipo.toUpperCase());
-                Citacion.EstadoCita estadoEnum = Citacion.EstadoCita.valueOf(estado.toUpperCase());
-                citaciones = citacionRepository.findByTipoAndEstadoCita(tipoEnum, estadoEnum, pageable);
-            } catch (IllegalArgumentException e) {
-                throw new InvalidOperationException("Tipo o estado inválido");
-            }
-        } else if (tipo != null && !tipo.isEmpty()) {
-            try {
-                Citacion.TipoCitacion tipoEnum = Citacion.TipoCitacion.valueOf(tipo.toUpperCase());
-                citaciones = citacionRepository.findByTipo(tipoEnum, pageable);
-            } catch (IllegalArgumentException e) {
-                throw new InvalidOperationException("Tipo de citación inválido: " + tipo);
-            }
-        } else if (estado != null && !estado.isEmpty()) {
-            try {
-                Citacion.EstadoCita estadoEnum = Citacion.EstadoCita.valueOf(estado.toUpperCase());
-                citaciones = citacionRepository.findByEstadoCita(estadoEnum, pageable);
-            } catch (IllegalArgumentException e) {
-                throw new InvalidOperationException("Estado inválido: " + estado);
-            }
-        } else {
-            citaciones = citacionRepository.findAll(pageable);
+    private Citacion.TipoCitacion parseTipo(String tipo) {
+        if (tipo == null || tipo.isEmpty()) {
+            return null;
+        }
+        try {
+            return Citacion.TipoCitacion.valueOf(tipo.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Tipo de citación inválido: " + tipo);
         }
+    }
 
-        return citaciones.map(this::toResponse);
+    private Citacion.EstadoCita parseEstado(String estado) {
+        if (estado == null || estado.isEmpty()) {
+            return null;
+        }
+        try {
+            return Citacion.EstadoCita.valueOf(estado.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Estado inválido: " + estado);
+        }
     }
 
     @Transactional
@@ -203,6 +188,55 @@ public class CitacionService {
         return toResponse(citacion);
     }
 
+    private List<CitacionResponse> toResponses(List<Citacion> citaciones) {
+        Map<Long, List<ParticipanteCitacion>> participantes = cargarParticipantes(citaciones);
+        return citaciones.stream()
+                .map(c -> toResponse(c, participantes.getOrDefault(c.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    // Una sola consulta para los participantes de todas las citaciones de la página
+    private Map<Long, List<ParticipanteCitacion>> cargarParticipantes(List<Citacion> citaciones) {
+        if (citaciones.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> ids = citaciones.stream().map(Citacion::getId).toList();
+        return citacionRepository.findParticipantes(ids).stream()
+                .collect(Collectors.groupingBy(ParticipanteCitacion::getCitacionId));
+    }
+
+    private CitacionResponse toResponse(Citacion citacion, List<ParticipanteCitacion> participantes) {
+        List<co.udistrital.academia.dto.UsuarioSimpleDTO> acudientes = participantes.stream()
+                .filter(p -> "ACUDIENTE".equals(p.getRol()))
+                .map(p -> new co.udistrital.academia.dto.UsuarioSimpleDTO(p.getId(), p.getNombre(), p.getCorreo()))
+                .collect(Collectors.toList());
+
+        List<co.udistrital.academia.dto.UsuarioSimpleDTO> profesores = participantes.stream()
+                .filter(p -> "PROFESOR".equals(p.getRol()))
+                .map(p -> new co.udistrital.academia.dto.UsuarioSimpleDTO(p.getId(), p.getNombre(), p.getCorreo()))
+                .collect(Collectors.toList());
+
+        List<co.udistrital.academia.dto.AspiranteSimpleDTO> aspirantes = participantes.stream()
+                .filter(p -> "ASPIRANTE".equals(p.getRol()))
+                .map(p -> new co.udistrital.academia.dto.AspiranteSimpleDTO(
+                    p.getId(),
+                    p.getNombre() != null ? p.getNombre() : "Sin nombre",
+                    p.getCorreo() != null ? p.getCorreo() : "Sin correo"
+                ))
+                .collect(Collectors.toList());
+
+        return new CitacionResponse(
+                citacion.getId(),
+                citacion.getTipo().name(),
+                citacion.getFecha(),
+                citacion.getMotivo(),
+                citacion.getEstadoCita().name(),
+                acudientes,
+                profesores,
+                aspirantes
+        );
+    }
+
     private CitacionResponse toResponse(Citacion citacion) {
         List<co.udistrital.academia.dto.UsuarioSimpleDTO> acudientes = citacion.getAcudientes().stream()
                 .map(u -> new co.udistrital.academia.dto.UsuarioSimpleDTO(u.getId(), u.getNombre(), u.getCorreo()))
@@ -0,0 +1,106 @@
+package co.udistrital.academia.service;
+
+import co.udistrital.academia.dto.EstadisticaColectiva;
+import co.udistrital.academia.dto.EstadisticaEstudiante;
+import co.udistrital.academia.dto.PromedioPeriodo;
+import co.udistrital.academia.exception.ResourceNotFoundException;
+import co.udistrital.academia.repository.EstudianteRepository;
+import co.udistrital.academia.repository.GrupoRepository;
+import co.udistrital.academia.repository.ResumenCalificacionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Estadísticas de calificaciones leídas de resumen_calificacion (una fila por estudiante y periodo,
+ * mantenida por ResumenCalificacionService). Los mismos agregados alimentan los endpoints JSON
+ * y los promedios de los boletines.
+ */
+@Service
+public class EstadisticaService {
+
+    @Autowired
+    private ResumenCalificacionRepository resumenRepository;
+
+    @Autowired
+    private EstudianteRepository estudianteRepository;
+
+    @Autowired
+    private GrupoRepository grupoRepository;
+
+    @Transactional(readOnly = true)
+    public EstadisticaEstudiante porEstudiante(Long estudianteId, Integer periodo) {
+        if (!estudianteRepository.existsById(estudianteId)) {
+            throw new ResourceNotFoundException("Estudiante no encontrado");
+        }
+        return porEstudiantes(List.of(estudianteId), periodo)
+                .getOrDefault(estudianteId, resumir(estudianteId, List.of()));
+    }
+
+    /**
+     * Agregados de varios estudiantes en una consulta; los que no tienen calificaciones no aparecen.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, EstadisticaEstudiante> porEstudiantes(Collection<Long> estudianteIds, Integer periodo) {
+        return agruparPorEstudiante(resumenRepository.findPromediosByEstudianteIds(estudianteIds, periodo));
+    }
+
+    @Transactional(readOnly = true)
+    public EstadisticaColectiva porGrupo(Long grupoId, Integer periodo) {
+        if (!grupoRepository.existsById(grupoId)) {
+            throw new ResourceNotFoundException("Grupo no encontrado");
+        }
+        return resumirColectiva(grupoId, null, periodo, resumenRepository.findPromediosByGrupoId(grupoId, periodo));
+    }
+
+    @Transactional(readOnly = true)
+    public EstadisticaColectiva porGrado(String grado, Integer periodo) {
+        return resumirColectiva(null, grado, periodo, resumenRepository.findPromediosByGrado(grado, periodo));
+    }
+
+    /**
+     * Combina los agregados por periodo de un estudiante; el promedio general se pondera
+     * por la cantidad de calificaciones (equivale al promedio de todas sus calificaciones).
+     */
+    public static EstadisticaEstudiante resumir(Long estudianteId, List<PromedioPeriodo> periodos) {
+        long cantidad = 0;
+        double suma = 0;
+        Double minimo = null;
+        Double maximo = null;
+        for (PromedioPeriodo p : periodos) {
+            cantidad += p.cantidad();
+            suma += p.promedio() * p.cantidad();
+            minimo = minimo == null ? p.minimo() : Math.min(minimo, p.minimo());
+            maximo = maximo == null ? p.maximo() : Math.max(maximo, p.maximo());
+        }
+        Double promedio = cantidad > 0 ? suma / cantidad : null;
+        return new EstadisticaEstudiante(estudianteId, periodos, cantidad, promedio, minimo, maximo,
+                promedio != null ? PromedioPeriodo.estado(promedio) : null);
+    }
+
+    private Map<Long, EstadisticaEstudiante> agruparPorEstudiante(List<PromedioPeriodo> filas) {
+        return filas.stream()
+                .collect(Collectors.groupingBy(PromedioPeriodo::estudianteId, LinkedHashMap::new, Collectors.toList()))
+                .entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> resumir(e.getKey(), e.getValue()),
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+
+    private EstadisticaColectiva resumirColectiva(Long grupoId, String grado, Integer periodo, List<PromedioPeriodo> filas) {
+        List<EstadisticaEstudiante> detalle = List.copyOf(agruparPorEstudiante(filas).values());
+
+        EstadisticaEstudiante total = resumir(null, filas);
+        int aprobados = (int) detalle.stream()
+                .filter(e -> e.promedioGeneral() >= PromedioPeriodo.NOTA_APROBATORIA)
+                .count();
+
+        return new EstadisticaColectiva(grupoId, grado, periodo, detalle.size(), aprobados, detalle.size() - aprobados,
+                total.promedioGeneral(), total.minimo(), total.maximo(), detalle);
+    }
+}
@@ -16,13 +16,8 @@ public class EstudianteService {
     private EstudianteRepository estudianteRepository;
 
     public List<Estudiante> listarEstudiantes(Long acudienteId) {
-        if (acudienteId != null) {
-            // Filtrar por acudiente
-            return estudianteRepository.findAll().stream()
-                .filter(e -> e.getAcudiente() != null && e.getAcudiente().getId().equals(acudienteId))
-                .toList();
-        }
-        return estudianteRepository.findAll();
+        // El filtro por acudiente va en la consulta, no sobre todos los estudiantes en memoria
+        return estudianteRepository.findParaListado(acudienteId);
     }
 
     public Estudiante obtenerPorId(Long id) {
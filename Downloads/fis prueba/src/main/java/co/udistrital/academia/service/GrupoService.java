@@ -1,8 +1,10 @@
 package co.udistrital.academia.service;
 
+import co.udistrital.academia.dto.EstudianteEnGrupo;
 import co.udistrital.academia.dto.EstudianteSimpleResponse;
 import co.udistrital.academia.dto.GrupoRequest;
 import co.udistrital.academia.dto.GrupoResponse;
+import co.udistrital.academia.dto.GrupoResumen;
 import co.udistrital.academia.entity.Estudiante;
 import co.udistrital.academia.entity.Grupo;
 import co.udistrital.academia.entity.Usuario;
@@ -17,7 +19,13 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 public class GrupoService {
 
@@ -51,39 +59,50 @@ public class GrupoService {
         return grupo;
     }
 
+    /**
+     * Lista grupos (opcionalmente de un profesor) con dos consultas fijas:
+     * resúmenes con el conteo en SQL y los estudiantes de todos los grupos en un IN.
+     */
+    @Transactional(readOnly = true)
     public List<GrupoResponse> listarGrupos(Long profesorId) {
-        List<Grupo> grupos;
-        if (profesorId != null) {
-            grupos = grupoRepository.findAll().stream()
-                .filter(g -> g.getProfesor() != null && g.getProfesor().getId().equals(profesorId))
-                .toList();
-        } else {
-            grupos = grupoRepository.findAll();
+        List<GrupoResumen> resumenes = grupoRepository.findResumenes(profesorId);
+        if (resumenes.isEmpty()) {
+            return List.of();
         }
-        return grupos.stream().map(this::convertirAGrupoResponse).toList();
+
+        List<Long> grupoIds = resumenes.stream().map(GrupoResumen::id).toList();
+        Map<Long, List<EstudianteSimpleResponse>> estudiantesPorGrupo =
+                estudianteRepository.findResumenesByGrupoIds(grupoIds).stream()
+                        .collect(Collectors.groupingBy(
+                                EstudianteEnGrupo::grupoId,
+                                Collectors.mapping(this::convertirAEstudianteSimple, Collectors.toList())));
+
+        return resumenes.stream()
+                .map(r -> convertirAGrupoResponse(r, estudiantesPorGrupo.getOrDefault(r.id(), List.of())))
+                .toList();
     }
 
-    private GrupoResponse convertirAGrupoResponse(Grupo grupo) {
+    private GrupoResponse convertirAGrupoResponse(GrupoResumen resumen, List<EstudianteSimpleResponse> estudiantes) {
         return new GrupoResponse(
-            grupo.getId(),
-            grupo.getNombre(),
-            grupo.getGrado(),
-            grupo.getCapacidad(),
-            grupo.getEstado().name(),
-            grupo.getProfesor() != null ? grupo.getProfesor().getNombre() : null,
-            grupo.getEstudiantes() != null ? grupo.getEstudiantes().size() : 0,
-            grupo.getEstudiantes() != null 
-                ? grupo.getEstudiantes().stream()
-                    .map(e -> new EstudianteSimpleResponse(
-                        e.getId(), 
-                        e.getNombre(), 
-                        e.getApellido(),
-                        e.getGrado() != null ? e.getGrado() : "",
-                        e.getRegCivil() != null ? e.getRegCivil() : "",
-                        e.getEstado() != null ? e.getEstado().name() : ""
-                    ))
-                    .toList()
-                : List.of()
+            resumen.id(),
+            resumen.nombre(),
+            resumen.grado(),
+            resumen.capacidad(),
+            resumen.estado().name(),
+            resumen.profesorNombre(),
+            resumen.cantidadEstudiantes().intValue(),
+            estudiantes
+        );
+    }
+
+    private EstudianteSimpleResponse convertirAEstudianteSimple(EstudianteEnGrupo e) {
+        return new EstudianteSimpleResponse(
+            e.id(),
+            e.nombre(),
+            e.apellido(),
+            e.grado() != null ? e.grado() : "",
+            e.regCivil() != null ? e.regCivil() : "",
+            e.estado() != null ? e.estado().name() : ""
         );
     }
 
@@ -130,57 +149,66 @@ public class GrupoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo no encontrado"));
         
         // Desasignar estudiantes del grupo
-        grupo.getEstudiantes().forEach(estudiante -> {
-            estudiante.setGrupo(null);
-            estudianteRepository.save(estudiante);
-        });
+        estudianteRepository.desasignarTodosDelGrupo(id);
         
         // Borrado lógico: cambiar estado a BORRADOR (inactivo)
         grupo.setEstado(Grupo.EstadoGrupo.BORRADOR);
         grupoRepository.save(grupo);
     }
 
+    /**
+     * Reemplaza la matrícula del grupo por la lista dada.
+     * Calcula la diferencia entre la matrícula actual y la nueva con conjuntos
+     * y aplica cada lado con un único UPDATE ... WHERE id IN.
+     */
     @Transactional
     public Grupo asignarEstudiantes(Long grupoId, List<Long> estudianteIds) {
-        Grupo grupo = grupoRepository.findById(grupoId)
+        Grupo grupo = grupoRepository.findByIdParaMatricula(grupoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo no encontrado"));
 
-        if (estudianteIds.size() > grupo.getCapacidad()) {
+        Set<Long> objetivo = new LinkedHashSet<>(estudianteIds);
+        if (objetivo.size() > grupo.getCapacidad()) {
             throw new InvalidOperationException(
-                "No se pueden asignar " + estudianteIds.size() + 
+                "No se pueden asignar " + objetivo.size() + 
                 " estudiantes. Capacidad máxima: " + grupo.getCapacidad()
             );
         }
 
-        // Desasignar estudiantes actuales que no están en la nueva lista
-        grupo.getEstudiantes().forEach(estudiante -> {
-            if (!estudianteIds.contains(estudiante.getId())) {
-                estudiante.setGrupo(null);
-                estudianteRepository.save(estudiante);
+        if (!objetivo.isEmpty()) {
+            Set<Long> existentes = new HashSet<>(estudianteRepository.findExistingIds(objetivo));
+            for (Long estudianteId : objetivo) {
+                if (!existentes.contains(estudianteId)) {
+                    throw new ResourceNotFoundException("Estudiante no encontrado con ID: " + estudianteId);
+                }
             }
-        });
+        }
+
+        Set<Long> actuales = new HashSet<>(estudianteRepository.findIdsByGrupoId(grupoId));
+
+        // Desasignar estudiantes actuales que no están en la nueva lista
+        Set<Long> aRetirar = new HashSet<>(actuales);
+        aRetirar.removeAll(objetivo);
+        if (!aRetirar.isEmpty()) {
+            estudianteRepository.desasignarGrupo(aRetirar);
+        }
 
         // Asignar nuevos estudiantes
-        for (Long estudianteId : estudianteIds) {
-            Estudiante estudiante = estudianteRepository.findById(estudianteId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Estudiante no encontrado con ID: " + estudianteId));
-            
-            estudiante.setGrupo(grupo);
-            estudianteRepository.save(estudiante);
+        Set<Long> aAgregar = new LinkedHashSet<>(objetivo);
+        aAgregar.removeAll(actuales);
+        if (!aAgregar.isEmpty()) {
+            estudianteRepository.asignarGrupo(grupo, aAgregar);
         }
 
-        return grupoRepository.findById(grupoId).orElseThrow();
+        return grupo;
     }
 
     @Transactional
     public Grupo agregarEstudiante(Long grupoId, Long estudianteId) {
-        Grupo grupo = grupoRepository.findById(grupoId)
+        Grupo grupo = grupoRepository.findByIdParaMatricula(grupoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo no encontrado"));
 
         // Verificar capacidad
-        long estudiantesActuales = estudianteRepository.findAll().stream()
-                .filter(e -> e.getGrupo() != null && e.getGrupo().getId().equals(grupoId))
-                .count();
+        long estudiantesActuales = estudianteRepository.countByGrupoId(grupoId);
 
         if (estudiantesActuales >= grupo.getCapacidad()) {
             throw new InvalidOperationException(
@@ -201,7 +229,6 @@ public class GrupoService {
         estudiante.setGrupo(grupo);
         estudianteRepository.save(estudiante);
 
-        return grupoRepository.findById(grupoId).orElseThrow();
+        return grupo;
     }
 }
-
@@ -0,0 +1,124 @@
+package co.udistrital.academia.service;
+
+import co.udistrital.academia.config.JwtTokenProvider;
+import co.udistrital.academia.config.TokenRevocationRegistry;
+import co.udistrital.academia.dto.TokenResponse;
+import co.udistrital.academia.entity.RefreshToken;
+import co.udistrital.academia.entity.TokenUsuario;
+import co.udistrital.academia.entity.Usuario;
+import co.udistrital.academia.repository.RefreshTokenRepository;
+import co.udistrital.academia.repository.TokenUsuarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Refresh tokens opacos con rotación: renovar el access token cuesta una búsqueda por índice
+ * y una firma HMAC, sin verificar la contraseña. Cada token se usa una sola vez; si llega
+ * un token ya usado se asume robado y se invalida toda su familia.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenUsuarioRepository tokenUsuarioRepository;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
+    /**
+     * Inicia una familia nueva (login). Devuelve el token en claro; solo se guarda su hash.
+     */
+    @Transactional
+    public String emitir(Usuario usuario) {
+        TokenUsuario tokenUsuario = usuario.getTokenUsuario();
+        if (tokenUsuario == null) {
+            tokenUsuario = tokenUsuarioRepository.save(TokenUsuario.builder().usuario(usuario).build());
+            usuario.setTokenUsuario(tokenUsuario);
+        } else {
+            refreshTokenRepository.deleteVencidos(tokenUsuario.getId(), LocalDateTime.now());
+        }
+        return emitir(tokenUsuario, UUID.randomUUID().toString());
+    }
+
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public TokenResponse renovar(String token) {
+        RefreshToken actual = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+        Usuario usuario = actual.getTokenUsuario().getUsuario();
+
+        if (actual.getUsado() || refreshTokenRepository.marcarUsado(actual.getId()) == 0) {
+            logger.warn("Reutilización de refresh token del usuario {}; se invalida la sesión", usuario.getCorreo());
+            refreshTokenRepository.deleteByFamilia(actual.getFamilia());
+            revocationRegistry.revokeTokensIssuedBefore(usuario.getCorreo());
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+        if (actual.getExpiracion().isBefore(LocalDateTime.now()) || !usuario.getEstado()) {
+            refreshTokenRepository.deleteByFamilia(actual.getFamilia());
+            throw new BadCredentialsException("Refresh token vencido");
+        }
+
+        String nuevo = emitir(actual.getTokenUsuario(), actual.getFamilia());
+        String jwt = tokenProvider.generateTokenFromUsername(usuario.getCorreo(), usuario.getRol().name(), usuario.getId());
+        return new TokenResponse(jwt, tokenProvider.getJwtExpirationInMs(),
+                nuevo, tokenProvider.getJwtRefreshExpirationInMs(),
+                usuario.getId(), usuario.getNombre(), usuario.getCorreo(), usuario.getRol().name(),
+                Boolean.TRUE.equals(actual.getTokenUsuario().getCambiarPass()));
+    }
+
+    /**
+     * Cierra todas las sesiones del usuario (cambio de contraseña).
+     */
+    @Transactional
+    public void revocarTodos(Usuario usuario) {
+        if (usuario.getTokenUsuario() != null && usuario.getTokenUsuario().getId() != null) {
+            refreshTokenRepository.deleteByTokenUsuarioId(usuario.getTokenUsuario().getId());
+        }
+    }
+
+    private String emitir(TokenUsuario tokenUsuario, String familia) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .familia(familia)
+                .expiracion(LocalDateTime.now().plus(tokenProvider.getJwtRefreshExpirationInMs(), ChronoUnit.MILLIS))
+                .tokenUsuario(tokenUsuario)
+                .build());
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
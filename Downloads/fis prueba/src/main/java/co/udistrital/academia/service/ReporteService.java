@@ -1,18 +1,29 @@
 package co.udistrital.academia.service;
 
-import co.udistrital.academia.entity.Calificacion;
+import co.udistrital.academia.dto.BoletinResumen;
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.EstadisticaEstudiante;
+import co.udistrital.academia.dto.EstudianteBoletin;
+import co.udistrital.academia.dto.ReportePdf;
 import co.udistrital.academia.entity.Estudiante;
 import co.udistrital.academia.entity.Grupo;
 import co.udistrital.academia.exception.ResourceNotFoundException;
+import co.udistrital.academia.repository.BoletinPdfRepository;
+import co.udistrital.academia.repository.BoletinRepository;
 import co.udistrital.academia.repository.CalificacionRepository;
 import co.udistrital.academia.repository.EstudianteRepository;
 import co.udistrital.academia.repository.GrupoRepository;
+import co.udistrital.academia.util.PdfCache;
 import co.udistrital.academia.util.PdfGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class ReporteService {
@@ -29,26 +40,106 @@ public class ReporteService {
     @Autowired
     private PdfGenerator pdfGenerator;
 
+    @Autowired
+    private BoletinRepository boletinRepository;
+
+    @Autowired
+    private BoletinPdfRepository boletinPdfRepository;
+
+    @Autowired
+    private PdfCache pdfCache;
+
+    @Autowired
+    private EstadisticaService estadisticaService;
+
+    /**
+     * Carga el grupo con sus estudiantes dentro de la transacción y devuelve el cuerpo de la respuesta.
+     * El PDF se escribe después, ya sin transacción ni conexión abierta, directo al stream del cliente
+     * (o desde la cache si los datos no cambiaron).
+     */
     @Transactional(readOnly = true)
-    public byte[] generarListadoGrupo(Long grupoId) {
-        Grupo grupo = grupoRepository.findById(grupoId)
+    public ReportePdf generarListadoGrupo(Long grupoId) {
+        Grupo grupo = grupoRepository.findConEstudiantesById(grupoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Grupo no encontrado"));
 
-        return pdfGenerator.generarListadoGrupo(grupo);
+        // El pie del documento lleva la fecha de generación
+        List<Object> partes = new ArrayList<>(List.of(LocalDate.now(), grupo.getNombre(), grupo.getGrado(),
+                grupo.getProfesor().getNombre(), grupo.getCapacidad(), grupo.getEstado()));
+        for (Estudiante est : grupo.getEstudiantes()) {
+            partes.add(est.getNombre() + "|" + est.getApellido() + "|" + est.getGrado() + "|" + est.getEstado());
+        }
+        String huella = PdfCache.huella(partes.toArray());
+
+        return new ReportePdf(huella, out -> pdfCache.servir("listado_" + grupoId, huella, out,
+                destino -> pdfGenerator.generarListadoGrupo(grupo, destino)));
     }
 
+    /**
+     * Si el periodo ya se cerró se devuelve el PDF guardado en boletin_pdf.
+     * Si no, igual que el listado: los datos se leen aquí y el boletín se escribe fuera de la transacción.
+     */
     @Transactional(readOnly = true)
-    public byte[] generarBoletin(Long estudianteId, Integer periodo) {
-        Estudiante estudiante = estudianteRepository.findById(estudianteId)
+    public ReportePdf generarBoletin(Long estudianteId, Integer periodo) {
+        if (periodo != null) {
+            Optional<BoletinResumen> consolidado = boletinRepository.findResumenByEstudianteIdAndPeriodo(estudianteId, periodo);
+            if (consolidado.isPresent()) {
+                BoletinResumen boletin = consolidado.get();
+                String huella = PdfCache.huella("consolidado", boletin.id(), boletin.fecha(), boletin.promedio());
+                return new ReportePdf(huella, out -> out.write(boletinPdfRepository.findContenidoByBoletinId(boletin.id())));
+            }
+        }
+
+        EstudianteBoletin estudiante = estudianteRepository.findParaBoletinByIds(List.of(estudianteId)).stream()
+                .findFirst()
                 .orElseThrow(() -> new ResourceNotFoundException("Estudiante no encontrado"));
 
-        List<Calificacion> calificaciones;
+        List<CalificacionFila> calificaciones;
         if (periodo != null) {
-            calificaciones = calificacionRepository.findByEstudianteIdAndPeriodo(estudianteId, periodo);
+            calificaciones = calificacionRepository.findFilasByEstudianteIdAndPeriodo(estudianteId, periodo);
         } else {
-            calificaciones = calificacionRepository.findByEstudianteId(estudianteId);
+            calificaciones = calificacionRepository.findFilasByEstudianteId(estudianteId);
+        }
+        EstadisticaEstudiante estadistica = estadisticaService.porEstudiantes(List.of(estudianteId), periodo)
+                .getOrDefault(estudianteId, EstadisticaService.resumir(estudianteId, List.of()));
+
+        List<Object> partes = new ArrayList<>(List.of(LocalDate.now(), estudiante.nombre(),
+                estudiante.apellido(), estudiante.grado(), String.valueOf(periodo),
+                String.valueOf(estudiante.grupoNombre())));
+        for (CalificacionFila cal : calificaciones) {
+            partes.add(cal.id() + "|" + cal.valor() + "|" + cal.periodo() + "|"
+                    + cal.logroNombre() + "|" + cal.logroCategoria());
         }
+        String huella = PdfCache.huella(partes.toArray());
+
+        String propietario = propietarioBoletin(estudianteId) + (periodo != null ? "p" + periodo : "todos");
+        return new ReportePdf(huella, out -> pdfCache.servir(propietario, huella, out,
+                destino -> pdfGenerator.generarBoletin(estudiante, calificaciones, periodo, estadistica, destino)));
+    }
+
+    /**
+     * Se llama cuando cambian las calificaciones de un estudiante en un periodo: descarta sus
+     * boletines en cache y, si el periodo estaba cerrado, su boletín consolidado. Ese periodo
+     * vuelve a calcularse a partir de las calificaciones hasta el próximo cierre.
+     */
+    @Transactional
+    public void invalidarBoletines(Long estudianteId, Integer periodo) {
+        invalidarBoletines(List.of(estudianteId), periodo);
+    }
+
+    /**
+     * Igual que {@link #invalidarBoletines(Long, Integer)} para todos los estudiantes de una
+     * planilla, con un solo DELETE.
+     */
+    @Transactional
+    public void invalidarBoletines(Collection<Long> estudianteIds, Integer periodo) {
+        if (estudianteIds.isEmpty()) {
+            return;
+        }
+        estudianteIds.forEach(estudianteId -> pdfCache.invalidar(propietarioBoletin(estudianteId)));
+        boletinRepository.eliminarPorEstudiantesYPeriodo(estudianteIds, periodo);
+    }
 
-        return pdfGenerator.generarBoletin(estudiante, calificaciones, periodo);
+    private String propietarioBoletin(Long estudianteId) {
+        return "boletin_" + estudianteId + "_";
     }
 }
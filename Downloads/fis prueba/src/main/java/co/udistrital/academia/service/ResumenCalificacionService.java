@@ -0,0 +1,163 @@
+package co.udistrital.academia.service;
+
+import co.udistrital.academia.dto.ReconstruccionResumenResponse;
+import co.udistrital.academia.entity.Calificacion;
+import co.udistrital.academia.entity.ResumenCalificacion;
+import co.udistrital.academia.repository.CalificacionRepository;
+import co.udistrital.academia.repository.ResumenCalificacionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mantiene la tabla resumen_calificacion (suma, cantidad, mínimo y máximo por estudiante y periodo).
+ * Cada cambio de una calificación aplica su diferencia sobre la fila del estudiante en lugar de
+ * recalcularla; solo al quitar el valor mínimo o máximo se vuelven a leer las calificaciones
+ * de ese estudiante y periodo. reconstruir() regenera la tabla completa desde calificacion.
+ */
+@Service
+public class ResumenCalificacionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumenCalificacionService.class);
+
+    // Acumulados por estudiante y periodo de un conjunto de calificaciones ya escritas
+    private static final String AGREGADOS =
+            "SELECT estudiante_id, periodo, SUM(valor) AS suma, COUNT(*) AS cantidad, " +
+            "MIN(valor) AS minimo, MAX(valor) AS maximo " +
+            "FROM calificacion WHERE id IN (:ids) GROUP BY estudiante_id, periodo";
+
+    // MySQL: la tabla derivada permite leer los agregados en ON DUPLICATE KEY UPDATE
+    private static final String UPSERT_MYSQL =
+            "INSERT INTO resumen_calificacion (estudiante_id, periodo, suma, cantidad, minimo, maximo) " +
+            "SELECT n.estudiante_id, n.periodo, n.suma, n.cantidad, n.minimo, n.maximo FROM (" + AGREGADOS + ") AS n " +
+            "ON DUPLICATE KEY UPDATE suma = resumen_calificacion.suma + n.suma, " +
+            "cantidad = resumen_calificacion.cantidad + n.cantidad, " +
+            "minimo = LEAST(COALESCE(resumen_calificacion.minimo, n.minimo), n.minimo), " +
+            "maximo = GREATEST(COALESCE(resumen_calificacion.maximo, n.maximo), n.maximo)";
+
+    // H2 (perfil dev) solo acepta ON DUPLICATE KEY en modo MySQL; usa el MERGE estándar
+    private static final String UPSERT_H2 =
+            "MERGE INTO resumen_calificacion r USING (" + AGREGADOS + ") n " +
+            "ON r.estudiante_id = n.estudiante_id AND r.periodo = n.periodo " +
+            "WHEN MATCHED THEN UPDATE SET suma = r.suma + n.suma, cantidad = r.cantidad + n.cantidad, " +
+            "minimo = LEAST(COALESCE(r.minimo, n.minimo), n.minimo), " +
+            "maximo = GREATEST(COALESCE(r.maximo, n.maximo), n.maximo) " +
+            "WHEN NOT MATCHED THEN INSERT (estudiante_id, periodo, suma, cantidad, minimo, maximo) " +
+            "VALUES (n.estudiante_id, n.periodo, n.suma, n.cantidad, n.minimo, n.maximo)";
+
+    // El MERGE de H2 no es atómico frente a otro MERGE que crea la misma fila: se bloquean antes
+    // los estudiantes afectados para que dos transacciones no inserten el mismo resumen
+    private static final String BLOQUEO_H2 =
+            "SELECT id FROM estudiante WHERE id IN (SELECT estudiante_id FROM calificacion WHERE id IN (:ids)) " +
+            "ORDER BY id FOR UPDATE";
+
+    @Autowired
+    private ResumenCalificacionRepository resumenRepository;
+
+    @Autowired
+    private CalificacionRepository calificacionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private String upsert;
+    private String bloqueo;
+
+    @PostConstruct
+    public void init() {
+        boolean h2 = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof H2Dialect;
+        upsert = h2 ? UPSERT_H2 : UPSERT_MYSQL;
+        bloqueo = h2 ? BLOQUEO_H2 : null;
+    }
+
+    /**
+     * Agrega una calificación nueva con el mismo upsert atómico de las planillas, así dos
+     * calificaciones simultáneas del mismo estudiante y periodo no compiten por crear la fila.
+     */
+    @Transactional
+    public void agregar(Calificacion calificacion) {
+        agregar(List.of(calificacion));
+    }
+
+    /**
+     * Agrega las calificaciones de una planilla con una sola sentencia: los acumulados por
+     * estudiante y periodo se calculan en la base y cada fila del resumen se crea o se actualiza
+     * de forma atómica. Las calificaciones deben estar guardadas en la sesión actual.
+     */
+    @Transactional
+    public void agregar(Collection<Calificacion> calificaciones) {
+        List<Long> ids = calificaciones.stream().map(Calificacion::getId).toList();
+        if (ids.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        if (bloqueo != null) {
+            entityManager.createNativeQuery(bloqueo).setParameter("ids", ids).getResultList();
+        }
+        entityManager.createNativeQuery(upsert)
+                .setParameter("ids", ids)
+                .unwrap(NativeQuery.class)
+                // Sin esto Hibernate vaciaría todas las regiones de la cache de segundo nivel
+                .addSynchronizedEntityClass(ResumenCalificacion.class)
+                .executeUpdate();
+    }
+
+    /**
+     * Cambia el valor y/o el periodo de una calificación ya contada en el resumen.
+     * La calificación debe estar modificada en la sesión actual.
+     */
+    @Transactional
+    public void reemplazar(Calificacion calificacion, Integer periodoAnterior, double valorAnterior) {
+        if (periodoAnterior.equals(calificacion.getPeriodo()) && valorAnterior == calificacion.getValor()) {
+            return;
+        }
+        Long estudianteId = calificacion.getEstudiante().getId();
+        resumenRepository.quitar(estudianteId, periodoAnterior, valorAnterior);
+        resumenRepository.recalcularExtremos(estudianteId, periodoAnterior, valorAnterior);
+        agregar(List.of(calificacion));
+    }
+
+    /**
+     * Una base que ya tenía calificaciones antes de existir resumen_calificacion arranca con la
+     * tabla vacía y los promedios saldrían en blanco: en ese caso se llena al iniciar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void llenarSiVacio() {
+        if (resumenRepository.count() > 0 || calificacionRepository.count() == 0) {
+            return;
+        }
+        ReconstruccionResumenResponse resumen = reconstruir();
+        logger.info("Resumen de calificaciones reconstruido al iniciar: " + resumen.filas()
+                + " filas en " + resumen.milisegundos() + " ms");
+    }
+
+    /**
+     * Descarta el resumen y lo calcula de nuevo con una sola consulta agrupada sobre calificacion.
+     */
+    @Transactional
+    public ReconstruccionResumenResponse reconstruir() {
+        long inicio = System.currentTimeMillis();
+        resumenRepository.eliminarTodos();
+        int filas = resumenRepository.insertarDesdeCalificaciones();
+        return new ReconstruccionResumenResponse(filas, System.currentTimeMillis() - inicio);
+    }
+}
@@ -1,5 +1,6 @@
 package co.udistrital.academia.service;
 
+import co.udistrital.academia.config.TokenRevocationRegistry;
 import co.udistrital.academia.dto.CredencialesTemporalesDto;
 import co.udistrital.academia.dto.UsuarioRequest;
 import co.udistrital.academia.dto.UsuarioUpdateRequest;
@@ -26,6 +27,9 @@ public class UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private TokenRevocationRegistry revocationRegistry;
+
     @Transactional(readOnly = true)
     public Page<Usuario> listarUsuarios(Pageable pageable) {
         return usuarioRepository.findAll(pageable);
@@ -39,16 +43,17 @@ public class UsuarioService {
 
         String usuarioTemporal = "user" + UUID.randomUUID().toString().substring(0, 8);
         String passwordTemporal = UUID.randomUUID().toString().substring(0, 12);
+        String hashTemporal = passwordEncoder.encode(passwordTemporal);
 
         TokenUsuario tokenUsuario = TokenUsuario.builder()
                 .usuarioTemporal(usuarioTemporal)
-                .contrasenaTemporal(passwordEncoder.encode(passwordTemporal))
+                .contrasenaTemporal(hashTemporal)
                 .build();
 
         Usuario usuario = Usuario.builder()
                 .nombre(request.nombre())
                 .correo(request.correo())
-                .password(passwordEncoder.encode(passwordTemporal))
+                .password(hashTemporal)
                 .rol(Usuario.Rol.valueOf(request.rol().toUpperCase()))
                 .estado(true)
                 .tokenUsuario(tokenUsuario)
@@ -69,6 +74,7 @@ public class UsuarioService {
             if (usuarioRepository.existsByCorreo(request.correo())) {
                 throw new InvalidOperationException("Ya existe un usuario con ese correo");
             }
+            revocationRegistry.revokeTokensIssuedBefore(usuario.getCorreo());
             usuario.setCorreo(request.correo());
         }
 
@@ -81,6 +87,9 @@ public class UsuarioService {
                 .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
 
         usuario.setEstado(nuevoEstado);
+        if (!Boolean.TRUE.equals(nuevoEstado)) {
+            revocationRegistry.revokeTokensIssuedBefore(usuario.getCorreo());
+        }
         return usuarioRepository.save(usuario);
     }
 }
@@ -0,0 +1,319 @@
+package co.udistrital.academia.util;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cache de PDF generados con dos niveles: memoria (LRU acotado en bytes) y disco (directorio
+ * configurable, se eliminan los archivos menos usados al superar el límite).
+ * La clave es "propietario_huella": la huella es un hash de los datos que entran en el documento,
+ * así que un cambio en los datos produce otra clave y nunca se sirve un PDF desactualizado.
+ * Al guardar una versión nueva se descartan las anteriores del mismo propietario.
+ */
+@Component
+public class PdfCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfCache.class);
+
+    private static final String EXTENSION = ".pdf";
+
+    @Value("${reportes.cache.dir}")
+    private String directorio;
+
+    @Value("${reportes.cache.memoria-max-bytes:16777216}")
+    private long memoriaMaxBytes;
+
+    @Value("${reportes.cache.disco-max-bytes:268435456}")
+    private long discoMaxBytes;
+
+    // Documentos más grandes solo se guardan en disco
+    @Value("${reportes.cache.entrada-max-bytes:1048576}")
+    private long entradaMaxBytes;
+
+    private Path dir;
+
+    private final LinkedHashMap<String, byte[]> memoria = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoriaBytes;
+
+    private final AtomicLong discoBytes = new AtomicLong();
+
+    // Lock y no synchronized: la limpieza lee el directorio, y un hilo virtual bloqueado en E/S
+    // dentro de synchronized retiene su hilo portador (Java 21)
+    private final ReentrantLock limpiezaDisco = new ReentrantLock();
+
+    /**
+     * Escribe el contenido del documento en el stream recibido.
+     */
+    @FunctionalInterface
+    public interface Render {
+        void escribir(OutputStream out) throws IOException;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        dir = Files.createDirectories(Paths.get(directorio));
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(dir)) {
+            for (Path archivo : archivos) {
+                if (archivo.getFileName().toString().endsWith(EXTENSION)) {
+                    discoBytes.addAndGet(Files.size(archivo));
+                } else {
+                    // Temporales de una generación interrumpida
+                    Files.deleteIfExists(archivo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hash SHA-256 (hex) de las partes que determinan el contenido de un documento.
+     */
+    public static String huella(Object... partes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object parte : partes) {
+                digest.update(String.valueOf(parte).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Sirve el documento desde la cache o lo genera. Al generar, el PDF se envía al cliente
+     * a medida que se produce y al mismo tiempo se copia a un temporal en disco, que pasa
+     * a ser la entrada de la cache cuando termina sin errores.
+     */
+    public void servir(String propietario, String huella, OutputStream out, Render render) throws IOException {
+        String clave = propietario + "_" + huella;
+        if (escribirDesdeCache(clave, out)) {
+            return;
+        }
+
+        Path temporal = Files.createTempFile(dir, clave, ".tmp");
+        try {
+            try (OutputStream archivo = Files.newOutputStream(temporal)) {
+                render.escribir(new Copia(out, archivo));
+            }
+            invalidar(propietario + "_");
+            long tamano = Files.size(temporal);
+            byte[] contenido = tamano <= entradaMaxBytes ? Files.readAllBytes(temporal) : null;
+            // Dos fallos simultáneos de la misma clave generan el mismo documento: solo el que
+            // publica el archivo suma sus bytes, el otro descarta su temporal
+            if (publicar(temporal, archivoDe(clave))) {
+                discoBytes.addAndGet(tamano);
+            }
+            if (contenido != null) {
+                guardarEnMemoria(clave, contenido);
+            }
+            liberarDisco();
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Publica el temporal como entrada de disco si aún no existe. Devuelve false si otra
+     * petición ya la publicó. Se usa un enlace duro porque falla de forma atómica si el destino
+     * existe; un move con ATOMIC_MOVE en Linux (rename) reemplazaría el archivo sin avisar.
+     */
+    private static boolean publicar(Path temporal, Path destino) throws IOException {
+        try {
+            Files.createLink(destino, temporal);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } catch (UnsupportedOperationException | IOException e) {
+            // Sistema de archivos sin enlaces duros: move sin REPLACE_EXISTING
+            try {
+                Files.move(temporal, destino);
+                return true;
+            } catch (FileAlreadyExistsException ex) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Elimina de ambos niveles las entradas cuya clave empieza por el prefijo.
+     */
+    public void invalidar(String prefijo) {
+        synchronized (memoria) {
+            Iterator<Map.Entry<String, byte[]>> it = memoria.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, byte[]> entrada = it.next();
+                if (entrada.getKey().startsWith(prefijo)) {
+                    memoriaBytes -= entrada.getValue().length;
+                    it.remove();
+                }
+            }
+        }
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(dir, prefijo + "*" + EXTENSION)) {
+            for (Path archivo : archivos) {
+                eliminar(archivo);
+            }
+        } catch (IOException e) {
+            logger.warn("No se pudo invalidar la cache de PDF " + prefijo + ": " + e.getMessage());
+        }
+    }
+
+    private boolean escribirDesdeCache(String clave, OutputStream out) throws IOException {
+        byte[] contenido;
+        synchronized (memoria) {
+            contenido = memoria.get(clave);
+        }
+        if (contenido != null) {
+            out.write(contenido);
+            return true;
+        }
+
+        Path archivo = archivoDe(clave);
+        try {
+            if (Files.size(archivo) > entradaMaxBytes) {
+                // No irá a memoria: se copia al cliente por bloques sin cargarlo en el heap
+                Files.copy(archivo, out);
+                marcarUso(archivo);
+                return true;
+            }
+            contenido = Files.readAllBytes(archivo);
+        } catch (NoSuchFileException e) {
+            // No está en disco (o fue eliminado por otra petición); aún no se escribió nada
+            return false;
+        }
+        marcarUso(archivo);
+        guardarEnMemoria(clave, contenido);
+        out.write(contenido);
+        return true;
+    }
+
+    // La fecha de modificación ordena la limpieza de disco (menos usados primero)
+    private static void marcarUso(Path archivo) {
+        try {
+            Files.setLastModifiedTime(archivo, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // Eliminado por otra petición después de leerlo
+        }
+    }
+
+    private void guardarEnMemoria(String clave, byte[] contenido) {
+        synchronized (memoria) {
+            byte[] anterior = memoria.put(clave, contenido);
+            memoriaBytes += contenido.length - (anterior != null ? anterior.length : 0);
+            Iterator<byte[]> it = memoria.values().iterator();
+            while (memoriaBytes > memoriaMaxBytes && it.hasNext()) {
+                memoriaBytes -= it.next().length;
+                it.remove();
+            }
+        }
+    }
+
+    // Elimina los archivos usados hace más tiempo hasta volver al límite de disco
+    private void liberarDisco() throws IOException {
+        if (discoBytes.get() <= discoMaxBytes) {
+            return;
+        }
+        limpiezaDisco.lock();
+        try {
+            List<Path> archivos = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + EXTENSION)) {
+                stream.forEach(archivos::add);
+            }
+            archivos.sort(Comparator.comparing(PdfCache::ultimaModificacion));
+            for (Path archivo : archivos) {
+                if (discoBytes.get() <= discoMaxBytes) {
+                    break;
+                }
+                eliminar(archivo);
+            }
+        } finally {
+            limpiezaDisco.unlock();
+        }
+    }
+
+    private void eliminar(Path archivo) {
+        try {
+            long tamano = Files.size(archivo);
+            if (Files.deleteIfExists(archivo)) {
+                discoBytes.addAndGet(-tamano);
+            }
+        } catch (IOException e) {
+            // Ya eliminado por otra petición
+        }
+    }
+
+    private Path archivoDe(String clave) {
+        return dir.resolve(clave + EXTENSION);
+    }
+
+    private static FileTime ultimaModificacion(Path archivo) {
+        try {
+            return Files.getLastModifiedTime(archivo);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Envía cada escritura al cliente y a la copia en disco.
+     * Al cerrar solo se cierra la copia; el stream de la respuesta lo cierra el contenedor.
+     */
+    private static class Copia extends OutputStream {
+        private final OutputStream cliente;
+        private final OutputStream archivo;
+
+        Copia(OutputStream cliente, OutputStream archivo) {
+            this.cliente = cliente;
+            this.archivo = archivo;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            cliente.write(b);
+            archivo.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            cliente.write(b, off, len);
+            archivo.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            cliente.flush();
+            archivo.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            archivo.close();
+        }
+    }
+}
@@ -1,54 +1,86 @@
 package co.udistrital.academia.util;
 
-import co.udistrital.academia.entity.Calificacion;
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.EstadisticaEstudiante;
+import co.udistrital.academia.dto.EstudianteBoletin;
+import co.udistrital.academia.dto.PromedioPeriodo;
 import co.udistrital.academia.entity.Estudiante;
 import co.udistrital.academia.entity.Grupo;
-import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.colors.ColorConstants;
-import com.itextpdf.kernel.colors.DeviceRgb;
 import com.itextpdf.kernel.font.PdfFont;
-import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
 import com.itextpdf.layout.Document;
 import com.itextpdf.layout.borders.Border;
-import com.itextpdf.layout.borders.SolidBorder;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.Paragraph;
 import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.properties.HorizontalAlignment;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 import com.itextpdf.layout.properties.VerticalAlignment;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import static co.udistrital.academia.util.PdfRecursos.*;
+
+/**
+ * Generación de los PDF de listado de grupo y boletín.
+ * Fuentes, colores y bordes vienen de PdfRecursos y se comparten entre documentos.
+ * Cada generación registra su duración (academia.pdf.render) y tamaño (academia.pdf.bytes) por tipo;
+ * al escribir directo a la respuesta, la duración incluye el envío al cliente.
+ */
 @Component
 public class PdfGenerator {
 
-    // Color del header #E6F2FF (RGB: 230, 242, 255)
-    private static final DeviceRgb HEADER_COLOR = new DeviceRgb(230, 242, 255);
-    private static final DeviceRgb BORDER_COLOR = new DeviceRgb(200, 200, 200);
-    private static final DeviceRgb TEXT_PRIMARY = new DeviceRgb(33, 33, 33);
-    private static final DeviceRgb TEXT_SECONDARY = new DeviceRgb(102, 102, 102);
+    private static final DateTimeFormatter FECHA_FOOTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // Filas de estudiantes que se acumulan antes de volcarlas al documento
+    private static final int FILAS_POR_BLOQUE = 50;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     public byte[] generarListadoGrupo(Grupo grupo) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        generarListadoGrupo(grupo, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Escribe el listado directamente en el stream: las páginas se envían a medida que se completan
+     * y la tabla de estudiantes se vuelca por bloques, sin mantener el documento entero en memoria.
+     */
+    public void generarListadoGrupo(Grupo grupo, OutputStream out) {
+        medir("listado", out, destino -> escribirListadoGrupo(grupo, destino));
+    }
+
+    private void escribirListadoGrupo(Grupo grupo, OutputStream out) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
+            PdfWriter writer = new PdfWriter(out);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf);
 
-            // Fuentes (Helvetica es similar a Inter y está incluida)
-            PdfFont fontRegular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-            PdfFont fontBold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+            Fuentes fuentes = fuentes();
+            PdfFont fontRegular = fuentes.regular();
+            PdfFont fontBold = fuentes.bold();
 
             // Agregar header con logo y título
             addHeader(document, fontBold, "LISTADO DE GRUPO");
@@ -76,9 +108,9 @@ public class PdfGenerator {
                     .setFontColor(TEXT_PRIMARY);
             document.add(tableTitle);
 
-            // Tabla de estudiantes con estilos
+            // Tabla de estudiantes con estilos (modo tabla grande para volcarla por bloques)
             float[] columnWidths = {0.5f, 2.5f, 2.5f, 1.5f, 1.5f};
-            Table table = new Table(UnitValue.createPercentArray(columnWidths));
+            Table table = new Table(UnitValue.createPercentArray(columnWidths), true);
             table.setWidth(UnitValue.createPercentValue(100));
 
             // Headers con estilo
@@ -88,6 +120,8 @@ public class PdfGenerator {
             addHeaderCell(table, "Grado", fontBold);
             addHeaderCell(table, "Estado", fontBold);
 
+            document.add(table);
+
             // Datos con estilos alternados
             int index = 1;
             for (Estudiante est : grupo.getEstudiantes()) {
@@ -97,30 +131,48 @@ public class PdfGenerator {
                 addDataCell(table, est.getApellido(), fontRegular, isEven);
                 addDataCell(table, est.getGrado(), fontRegular, isEven);
                 addDataCell(table, est.getEstado().name(), fontRegular, isEven);
+                if (index % FILAS_POR_BLOQUE == 0) {
+                    table.flush();
+                }
             }
 
-            document.add(table);
+            table.complete();
 
             // Footer
             addFooter(document, fontRegular);
 
             document.close();
-
-            return baos.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Error generando PDF de listado: " + e.getMessage(), e);
         }
     }
 
-    public byte[] generarBoletin(Estudiante estudiante, List<Calificacion> calificaciones, Integer periodo) {
+    public byte[] generarBoletin(EstudianteBoletin estudiante, List<CalificacionFila> calificaciones,
+                                 Integer periodo, EstadisticaEstudiante estadistica) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        generarBoletin(estudiante, calificaciones, periodo, estadistica, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Escribe el boletín directamente en el stream; cada periodo se vuelca al documento al terminarlo.
+     * Los promedios y estados vienen precalculados en la estadística (agregados SQL de EstadisticaService).
+     */
+    public void generarBoletin(EstudianteBoletin estudiante, List<CalificacionFila> calificaciones,
+                               Integer periodo, EstadisticaEstudiante estadistica, OutputStream out) {
+        medir("boletin", out, destino -> escribirBoletin(estudiante, calificaciones, periodo, estadistica, destino));
+    }
+
+    private void escribirBoletin(EstudianteBoletin estudiante, List<CalificacionFila> calificaciones,
+                                 Integer periodo, EstadisticaEstudiante estadistica, OutputStream out) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
+            PdfWriter writer = new PdfWriter(out);
             PdfDocument pdf = new PdfDocument(writer);
             Document document = new Document(pdf);
 
-            PdfFont fontRegular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
-            PdfFont fontBold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+            Fuentes fuentes = fuentes();
+            PdfFont fontRegular = fuentes.regular();
+            PdfFont fontBold = fuentes.bold();
 
             // Header
             addHeader(document, fontBold, "BOLETÍN DE CALIFICACIONES");
@@ -131,12 +183,12 @@ public class PdfGenerator {
             infoTable.setMarginTop(20);
             infoTable.setMarginBottom(20);
 
-            addInfoRow(infoTable, "Estudiante:", estudiante.getNombre() + " " + estudiante.getApellido(), fontBold, fontRegular);
-            addInfoRow(infoTable, "Grado:", estudiante.getGrado(), fontBold, fontRegular);
+            addInfoRow(infoTable, "Estudiante:", estudiante.nombre() + " " + estudiante.apellido(), fontBold, fontRegular);
+            addInfoRow(infoTable, "Grado:", estudiante.grado(), fontBold, fontRegular);
             addInfoRow(infoTable, "Periodo:", periodo != null ? "Periodo " + periodo : "Todos los periodos", fontBold, fontRegular);
             
-            if (estudiante.getGrupo() != null) {
-                addInfoRow(infoTable, "Grupo:", estudiante.getGrupo().getNombre(), fontBold, fontRegular);
+            if (estudiante.grupoNombre() != null) {
+                addInfoRow(infoTable, "Grupo:", estudiante.grupoNombre(), fontBold, fontRegular);
             }
 
             document.add(infoTable);
@@ -150,15 +202,19 @@ public class PdfGenerator {
                         .setMarginTop(40);
                 document.add(noData);
             } else {
-                // Agrupar calificaciones por periodo
-                Map<Integer, List<Calificacion>> calificacionesPorPeriodo = calificaciones.stream()
-                        .collect(Collectors.groupingBy(Calificacion::getPeriodo));
+                // Los periodos salen de las calificaciones; de la estadística (resumen_calificacion)
+                // solo los promedios, para que un resumen desfasado no oculte calificaciones
+                Map<Integer, List<CalificacionFila>> calificacionesPorPeriodo = calificaciones.stream()
+                        .collect(Collectors.groupingBy(CalificacionFila::periodo, TreeMap::new, Collectors.toList()));
+                Map<Integer, PromedioPeriodo> promedios = estadistica.periodos().stream()
+                        .collect(Collectors.toMap(PromedioPeriodo::periodo, Function.identity()));
 
-                for (Integer per : calificacionesPorPeriodo.keySet().stream().sorted().toList()) {
-                    List<Calificacion> cals = calificacionesPorPeriodo.get(per);
+                for (Map.Entry<Integer, List<CalificacionFila>> entrada : calificacionesPorPeriodo.entrySet()) {
+                    List<CalificacionFila> cals = entrada.getValue();
+                    PromedioPeriodo resumen = promedios.get(entrada.getKey());
 
                     // Título del periodo
-                    Paragraph periodoTitle = new Paragraph("Periodo " + per)
+                    Paragraph periodoTitle = new Paragraph("Periodo " + entrada.getKey())
                             .setFont(fontBold)
                             .setFontSize(14)
                             .setMarginTop(20)
@@ -175,25 +231,23 @@ public class PdfGenerator {
                     addHeaderCell(table, "Categoría", fontBold);
                     addHeaderCell(table, "Calificación", fontBold);
 
-                    double suma = 0;
                     int index = 0;
-                    for (Calificacion cal : cals) {
+                    for (CalificacionFila cal : cals) {
                         boolean isEven = index % 2 == 0;
-                        addDataCell(table, cal.getLogro().getNombre(), fontRegular, isEven);
-                        addDataCell(table, cal.getLogro().getCategoria().name(), fontRegular, isEven);
-                        addDataCell(table, String.format("%.2f", cal.getValor()), fontRegular, isEven);
-                        suma += cal.getValor();
+                        addDataCell(table, cal.logroNombre(), fontRegular, isEven);
+                        addDataCell(table, cal.logroCategoria().name(), fontRegular, isEven);
+                        addDataCell(table, String.format("%.2f", cal.valor()), fontRegular, isEven);
                         index++;
                     }
 
                     document.add(table);
 
                     // Promedio del periodo
-                    double promedioPeriodo = suma / cals.size();
-                    String estado = promedioPeriodo >= 3.0 ? "APROBADO" : "REPROBADO";
-                    DeviceRgb estadoColorAprobado = new DeviceRgb(34, 139, 34);
-                    DeviceRgb estadoColorReprobado = new DeviceRgb(220, 20, 60);
-                    DeviceRgb estadoColor = promedioPeriodo >= 3.0 ? estadoColorAprobado : estadoColorReprobado;
+                    // Sin fila de resumen para el periodo se promedian las filas del documento
+                    double promedioPeriodo = resumen != null ? resumen.promedio()
+                            : cals.stream().mapToDouble(CalificacionFila::valor).average().orElse(0);
+                    String estado = PromedioPeriodo.estado(promedioPeriodo);
+                    Color estadoColor = promedioPeriodo >= PromedioPeriodo.NOTA_APROBATORIA ? APROBADO_COLOR : REPROBADO_COLOR;
 
                     Table promedioTable = new Table(UnitValue.createPercentArray(new float[]{3, 1, 2}));
                     promedioTable.setWidth(UnitValue.createPercentValue(100));
@@ -218,10 +272,10 @@ public class PdfGenerator {
 
                 // Promedio general si hay múltiples periodos
                 if (calificacionesPorPeriodo.size() > 1) {
-                    double sumaTotal = calificaciones.stream().mapToDouble(Calificacion::getValor).sum();
-                    double promedioGeneral = sumaTotal / calificaciones.size();
-                    String estadoGeneral = promedioGeneral >= 3.0 ? "APROBADO" : "REPROBADO";
-                    DeviceRgb estadoColor = promedioGeneral >= 3.0 ? new DeviceRgb(34, 139, 34) : new DeviceRgb(220, 20, 60);
+                    double promedioGeneral = estadistica.promedioGeneral() != null ? estadistica.promedioGeneral()
+                            : calificaciones.stream().mapToDouble(CalificacionFila::valor).average().orElse(0);
+                    String estadoGeneral = PromedioPeriodo.estado(promedioGeneral);
+                    Color estadoColor = promedioGeneral >= PromedioPeriodo.NOTA_APROBATORIA ? APROBADO_COLOR : REPROBADO_COLOR;
 
                     Paragraph generalTitle = new Paragraph("Promedio General del Año")
                             .setFont(fontBold)
@@ -245,14 +299,54 @@ public class PdfGenerator {
             addFooter(document, fontRegular);
 
             document.close();
-
-            return baos.toByteArray();
         } catch (Exception e) {
             throw new RuntimeException("Error generando boletín PDF: " + e.getMessage(), e);
         }
     }
 
-    private void addHeader(Document document, PdfFont fontBold, String titulo) throws IOException {
+    private void medir(String tipo, OutputStream out, Consumer<OutputStream> generar) {
+        ContadorBytes contador = new ContadorBytes(out);
+        long inicio = System.nanoTime();
+        generar.accept(contador);
+        Timer.builder("academia.pdf.render")
+                .description("Duración de la generación de PDF")
+                .tag("tipo", tipo)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("academia.pdf.bytes")
+                .description("Tamaño de los PDF generados")
+                .baseUnit("bytes")
+                .tag("tipo", tipo)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(contador.bytes);
+    }
+
+    /**
+     * Cuenta los bytes escritos sin copiarlos.
+     */
+    private static class ContadorBytes extends FilterOutputStream {
+        long bytes;
+
+        ContadorBytes(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes += len;
+        }
+    }
+
+    private void addHeader(Document document, PdfFont fontBold, String titulo) {
         // Tabla para el header con logo y título
         Table headerTable = new Table(UnitValue.createPercentArray(new float[]{1, 4}));
         headerTable.setWidth(UnitValue.createPercentValue(100));
@@ -302,31 +396,27 @@ public class PdfGenerator {
     private void addHeaderCell(Table table, String text, PdfFont fontBold) {
         Cell cell = new Cell()
                 .add(new Paragraph(text).setFont(fontBold).setFontSize(10).setFontColor(ColorConstants.WHITE))
-                .setBackgroundColor(new DeviceRgb(41, 128, 185))
+                .setBackgroundColor(TABLE_HEADER_COLOR)
                 .setTextAlignment(TextAlignment.CENTER)
                 .setVerticalAlignment(VerticalAlignment.MIDDLE)
                 .setPadding(8)
-                .setBorder(new SolidBorder(BORDER_COLOR, 1));
+                .setBorder(HEADER_CELL_BORDER);
         table.addCell(cell);
     }
 
     private void addDataCell(Table table, String text, PdfFont fontRegular, boolean isEven) {
-        DeviceRgb bgColorEven = new DeviceRgb(249, 249, 249);
-        DeviceRgb bgColorOdd = new DeviceRgb(255, 255, 255);
-        DeviceRgb bgColor = isEven ? bgColorEven : bgColorOdd;
         Cell cell = new Cell()
                 .add(new Paragraph(text).setFont(fontRegular).setFontSize(9).setFontColor(TEXT_PRIMARY))
-                .setBackgroundColor(bgColor)
+                .setBackgroundColor(isEven ? ROW_EVEN_COLOR : ROW_ODD_COLOR)
                 .setTextAlignment(TextAlignment.CENTER)
                 .setVerticalAlignment(VerticalAlignment.MIDDLE)
                 .setPadding(6)
-                .setBorder(new SolidBorder(BORDER_COLOR, 0.5f));
+                .setBorder(DATA_CELL_BORDER);
         table.addCell(cell);
     }
 
     private void addFooter(Document document, PdfFont fontRegular) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd/MM/yyyy");
-        String fecha = LocalDate.now().format(formatter);
+        String fecha = LocalDate.now().format(FECHA_FOOTER);
 
         Paragraph footer = new Paragraph("Documento generado el " + fecha + " - Academia UD")
                 .setFont(fontRegular)
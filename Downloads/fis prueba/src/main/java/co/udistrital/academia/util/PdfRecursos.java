@@ -0,0 +1,68 @@
+package co.udistrital.academia.util;
+
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.colors.Color;
+import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.layout.borders.Border;
+import com.itextpdf.layout.borders.SolidBorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Recursos compartidos por todos los documentos de PdfGenerator: programas de fuente,
+ * colores y bordes se crean una sola vez al cargar la clase.
+ * Ningún objeto se modifica después de construido, por lo que se pueden leer desde
+ * varios hilos a la vez. Solo los PdfFont se crean por documento, porque iText los
+ * asocia al PdfDocument donde se usan.
+ * Las propiedades se asignan directamente a cada elemento: con objetos Style compartidos
+ * iText recorre la lista de estilos en cada consulta de propiedad y asigna más memoria.
+ */
+final class PdfRecursos {
+
+    // Color del header #E6F2FF (RGB: 230, 242, 255)
+    static final Color HEADER_COLOR = new DeviceRgb(230, 242, 255);
+    static final Color BORDER_COLOR = new DeviceRgb(200, 200, 200);
+    static final Color TEXT_PRIMARY = new DeviceRgb(33, 33, 33);
+    static final Color TEXT_SECONDARY = new DeviceRgb(102, 102, 102);
+    static final Color TABLE_HEADER_COLOR = new DeviceRgb(41, 128, 185);
+    static final Color ROW_EVEN_COLOR = new DeviceRgb(249, 249, 249);
+    static final Color ROW_ODD_COLOR = new DeviceRgb(255, 255, 255);
+    static final Color APROBADO_COLOR = new DeviceRgb(34, 139, 34);
+    static final Color REPROBADO_COLOR = new DeviceRgb(220, 20, 60);
+
+    static final Border HEADER_CELL_BORDER = new SolidBorder(BORDER_COLOR, 1);
+    static final Border DATA_CELL_BORDER = new SolidBorder(BORDER_COLOR, 0.5f);
+
+    // Helvetica es similar a Inter y está incluida en iText
+    private static final FontProgram HELVETICA = cargarFuente(StandardFonts.HELVETICA);
+    private static final FontProgram HELVETICA_BOLD = cargarFuente(StandardFonts.HELVETICA_BOLD);
+
+    private PdfRecursos() {
+    }
+
+    /**
+     * Fuentes de un documento, creadas a partir de los programas precargados.
+     */
+    record Fuentes(PdfFont regular, PdfFont bold) {
+    }
+
+    static Fuentes fuentes() {
+        return new Fuentes(
+                PdfFontFactory.createFont(HELVETICA),
+                PdfFontFactory.createFont(HELVETICA_BOLD)
+        );
+    }
+
+    private static FontProgram cargarFuente(String nombre) {
+        try {
+            return FontProgramFactory.createFont(nombre);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo cargar la fuente " + nombre, e);
+        }
+    }
+}
@@ -5,6 +5,17 @@ DROP DATABASE IF EXISTS academia_ud;
 CREATE DATABASE academia_ud CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
 USE academia_ud;
 
+-- Tabla id_generador: contadores de id para calificacion, estudiante, citacion y observacion.
+-- GeneradorIdsTabla reserva bloques de 50 ids por fila y así Hibernate puede agrupar los
+-- INSERT en lotes JDBC, cosa que AUTO_INCREMENT impide. siguiente es el último id que pudo
+-- entregarse; si la fila no existe se crea en el primer uso con el MAX(id) de la tabla.
+-- También se puede sembrar a mano al migrar, por ejemplo:
+--   INSERT INTO id_generador VALUES ('calificacion', (SELECT COALESCE(MAX(id), 0) FROM calificacion));
+CREATE TABLE id_generador (
+    nombre VARCHAR(255) NOT NULL PRIMARY KEY,
+    siguiente BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- Tabla token_usuario
 CREATE TABLE token_usuario (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -12,6 +23,14 @@ CREATE TABLE token_usuario (
     contrasena_temporal VARCHAR(255)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Tabla revocacion_token: por correo, instante desde el que se aceptan access tokens
+-- (ver TokenRevocationRegistry). Va por correo y no por usuario para que un cambio de correo
+-- no traslade la revocación al correo nuevo.
+CREATE TABLE revocacion_token (
+    correo VARCHAR(120) PRIMARY KEY,
+    revocado_desde DATETIME NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- Tabla usuario
 CREATE TABLE usuario (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -26,6 +45,18 @@ CREATE TABLE usuario (
     INDEX idx_rol (rol)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Tabla refresh_token (solo el hash SHA-256 del token)
+CREATE TABLE refresh_token (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_hash VARCHAR(64) NOT NULL UNIQUE,
+    familia VARCHAR(36) NOT NULL,
+    expiracion DATETIME NOT NULL,
+    usado BOOLEAN NOT NULL DEFAULT FALSE,
+    token_usuario_id BIGINT NOT NULL,
+    CONSTRAINT fk_refresh_token_usuario FOREIGN KEY (token_usuario_id) REFERENCES token_usuario(id),
+    INDEX idx_familia (familia)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- Tabla grupo
 CREATE TABLE grupo (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -33,6 +64,7 @@ CREATE TABLE grupo (
     grado VARCHAR(50) NOT NULL,
     capacidad INT NOT NULL DEFAULT 20,
     estado ENUM('BORRADOR', 'ACTIVO') NOT NULL DEFAULT 'BORRADOR',
+    version BIGINT NOT NULL DEFAULT 0,
     profesor_id BIGINT,
     CONSTRAINT fk_grupo_profesor FOREIGN KEY (profesor_id) REFERENCES usuario(id),
     INDEX idx_grado (grado),
@@ -51,7 +83,7 @@ CREATE TABLE aspirante (
 
 -- Tabla estudiante
 CREATE TABLE estudiante (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     nombre VARCHAR(100) NOT NULL,
     apellido VARCHAR(100) NOT NULL,
     grado VARCHAR(50) NOT NULL,
@@ -69,7 +101,7 @@ CREATE TABLE estudiante (
 
 -- Tabla citacion
 CREATE TABLE citacion (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     tipo ENUM('INDIVIDUAL', 'GRUPAL', 'ASPIRANTE') NOT NULL,
     fecha DATETIME NOT NULL,
     motivo VARCHAR(500) NOT NULL,
@@ -116,9 +148,13 @@ CREATE TABLE logro (
     INDEX idx_estado (estado)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
--- Tabla calificacion
+-- Tabla calificacion. Al migrar, revisar duplicados antes de crear la restricción única:
+--   SELECT estudiante_id, periodo, logro_id, COUNT(*) FROM calificacion
+--   GROUP BY estudiante_id, periodo, logro_id HAVING COUNT(*) > 1;
+--   ALTER TABLE calificacion ADD CONSTRAINT uk_calificacion_estudiante_periodo_logro
+--       UNIQUE (estudiante_id, periodo, logro_id), DROP INDEX idx_estudiante_periodo;
 CREATE TABLE calificacion (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     valor DOUBLE NOT NULL,
     periodo INT NOT NULL,
     logro_id BIGINT NOT NULL,
@@ -127,14 +163,30 @@ CREATE TABLE calificacion (
     CONSTRAINT fk_calificacion_logro FOREIGN KEY (logro_id) REFERENCES logro(id),
     CONSTRAINT fk_calificacion_estudiante FOREIGN KEY (estudiante_id) REFERENCES estudiante(id),
     CONSTRAINT fk_calificacion_profesor FOREIGN KEY (profesor_id) REFERENCES usuario(id),
-    INDEX idx_periodo (periodo),
-    INDEX idx_estudiante_periodo (estudiante_id, periodo)
+    -- Una calificación por estudiante, logro y periodo; también sirve las búsquedas por estudiante y periodo
+    CONSTRAINT uk_calificacion_estudiante_periodo_logro UNIQUE (estudiante_id, periodo, logro_id),
+    INDEX idx_periodo (periodo)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- Tabla resumen_calificacion (acumulados por estudiante y periodo). Si está vacía y ya hay
+-- calificaciones, la aplicación la llena al iniciar; también se puede llenar con
+-- POST /api/calificaciones/estadisticas/resumen/reconstruir.
+CREATE TABLE resumen_calificacion (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    estudiante_id BIGINT NOT NULL,
+    periodo INT NOT NULL,
+    suma DOUBLE NOT NULL,
+    cantidad BIGINT NOT NULL,
+    minimo DOUBLE,
+    maximo DOUBLE,
+    CONSTRAINT uk_resumen_estudiante_periodo UNIQUE (estudiante_id, periodo),
+    CONSTRAINT fk_resumen_estudiante FOREIGN KEY (estudiante_id) REFERENCES estudiante(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- Tabla historia_academica
 CREATE TABLE historia_academica (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    estudiante_id BIGINT NOT NULL,
+    estudiante_id BIGINT NOT NULL UNIQUE,
     CONSTRAINT fk_historia_estudiante FOREIGN KEY (estudiante_id) REFERENCES estudiante(id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
@@ -143,13 +195,26 @@ CREATE TABLE boletin (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     fecha DATE NOT NULL,
     periodo INT NOT NULL,
+    promedio DOUBLE,
+    aprobado BOOLEAN,
     estudiante_id BIGINT NOT NULL,
     historia_academica_id BIGINT,
+    CONSTRAINT uk_boletin_estudiante_periodo UNIQUE (estudiante_id, periodo),
     CONSTRAINT fk_boletin_estudiante FOREIGN KEY (estudiante_id) REFERENCES estudiante(id),
     CONSTRAINT fk_boletin_historia FOREIGN KEY (historia_academica_id) REFERENCES historia_academica(id),
     INDEX idx_periodo (periodo)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Tabla boletin_pdf: PDF del boletín consolidado, aparte para no leerlo al cargar boletines.
+-- Al migrar desde la columna boletin.pdf:
+--   INSERT INTO boletin_pdf SELECT id, pdf FROM boletin WHERE pdf IS NOT NULL;
+--   ALTER TABLE boletin DROP COLUMN pdf;
+CREATE TABLE boletin_pdf (
+    boletin_id BIGINT PRIMARY KEY,
+    contenido LONGBLOB NOT NULL,
+    CONSTRAINT fk_boletin_pdf_boletin FOREIGN KEY (boletin_id) REFERENCES boletin(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- Tabla boletin_logro (ManyToMany)
 CREATE TABLE boletin_logro (
     boletin_id BIGINT NOT NULL,
@@ -161,7 +226,7 @@ CREATE TABLE boletin_logro (
 
 -- Tabla observacion
 CREATE TABLE observacion (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     fecha DATE NOT NULL,
     descripcion VARCHAR(1000) NOT NULL,
     tipo ENUM('ACADEMICA', 'DISCIPLINARIA', 'CONVIVENCIA', 'LOGRO_DESTACADO') NOT NULL,
@@ -0,0 +1,53 @@
+package co.udistrital.academia.config;
+
+import co.udistrital.academia.repository.RevocacionTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * La revocación se guarda por correo en revocacion_token y solo llega a la lista en memoria
+ * cuando la transacción se confirma.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class TokenRevocationRegistryTest {
+
+    @Autowired
+    private TokenRevocationRegistry registry;
+
+    @Autowired
+    private RevocacionTokenRepository revocacionTokenRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void revocacionConfirmadaSeGuardaPorCorreo() {
+        Date emitido = new Date(System.currentTimeMillis() - 5_000);
+
+        transactionTemplate.executeWithoutResult(status -> registry.revokeTokensIssuedBefore("sin.token@prueba.ud"));
+
+        assertThat(registry.isRevoked("sin.token@prueba.ud", emitido)).isTrue();
+        assertThat(revocacionTokenRepository.findById("sin.token@prueba.ud")).isPresent();
+    }
+
+    @Test
+    void rollbackNoDejaRevocacion() {
+        Date emitido = new Date(System.currentTimeMillis() - 5_000);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            registry.revokeTokensIssuedBefore("rollback@prueba.ud");
+            status.setRollbackOnly();
+        });
+
+        assertThat(registry.isRevoked("rollback@prueba.ud", emitido)).isFalse();
+        assertThat(revocacionTokenRepository.findById("rollback@prueba.ud")).isEmpty();
+    }
+}
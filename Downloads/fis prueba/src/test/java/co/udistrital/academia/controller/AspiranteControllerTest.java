@@ -0,0 +1,69 @@
+package co.udistrital.academia.controller;
+
+import co.udistrital.academia.config.JwtAuthenticationFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * En modo claims el atributo usuarioId sale del token: el de /api/auth/login debe traerlo.
+ * El modo se cambia en el filtro y no por propiedad para reutilizar el contexto de las demás pruebas.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class AspiranteControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void configurar() {
+        jwtAuthenticationFilter.setClaimsOnly(true);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @AfterEach
+    void restaurar() {
+        jwtAuthenticationFilter.setClaimsOnly(false);
+    }
+
+    @Test
+    void meConTokenDeLoginEnModoClaims() throws Exception {
+        String respuesta = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"correo\":\"aspirante1@correo.com\",\"password\":\"Asp123*\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode login = objectMapper.readTree(respuesta);
+
+        mockMvc.perform(get("/api/aspirantes/me")
+                        .header("Authorization", "Bearer " + login.get("accessToken").asText()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.correo").value("aspirante1@correo.com"));
+    }
+}
@@ -0,0 +1,70 @@
+package co.udistrital.academia.controller;
+
+import co.udistrital.academia.config.MetricasPeticionFilter;
+import co.udistrital.academia.entity.Usuario;
+import co.udistrital.academia.repository.UsuarioRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * El listado de estudiantes carga sus asociaciones en una sola consulta. Con
+ * sql.presupuesto.modo=rechazar responder 200 ya comprueba su @PresupuestoSql.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+@WithMockUser(roles = "ADMIN")
+class EstudianteControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MetricasPeticionFilter metricasPeticionFilter;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void configurar() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(metricasPeticionFilter)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void listarEstudiantesCabeEnSuPresupuesto() throws Exception {
+        mockMvc.perform(get("/api/estudiantes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", greaterThan(0)))
+                .andExpect(jsonPath("$[0].grupo.profesor.nombre").exists());
+    }
+
+    @Test
+    void listarEstudiantesPorAcudienteFiltraEnLaConsulta() throws Exception {
+        Usuario acudiente = usuarioRepository.findByCorreo("acudiente1@correo.com").orElseThrow();
+
+        mockMvc.perform(get("/api/estudiantes").param("acudienteId", acudiente.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(greaterThan(0))))
+                .andExpect(jsonPath("$[*].acudiente.id", everyItem(is(acudiente.getId().intValue()))));
+    }
+}
@@ -0,0 +1,68 @@
+package co.udistrital.academia.controller;
+
+import co.udistrital.academia.config.MetricasPeticionFilter;
+import co.udistrital.academia.config.PresupuestoSqlInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Con sql.presupuesto.modo=rechazar una petición que supera su @PresupuestoSql responde 500,
+ * así que basta con que el endpoint responda bien para que su presupuesto se cumpla.
+ * MetricasPeticionFilter es el que abre el conteo de cada petición.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+@WithMockUser(roles = "ADMIN")
+class GrupoControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MetricasPeticionFilter metricasPeticionFilter;
+
+    @Autowired
+    private PresupuestoSqlInterceptor presupuestoSqlInterceptor;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void configurar() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(metricasPeticionFilter)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void obtenerGrupoCabeEnSuPresupuesto() throws Exception {
+        mockMvc.perform(get("/api/grupos/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    void peticionQueSuperaElPresupuestoFalla() throws Exception {
+        // /page no tiene @PresupuestoSql y usa sql.presupuesto.defecto
+        ReflectionTestUtils.setField(presupuestoSqlInterceptor, "presupuestoDefecto", 0);
+        try {
+            mockMvc.perform(get("/api/grupos/page"))
+                    .andExpect(status().isInternalServerError());
+        } finally {
+            ReflectionTestUtils.setField(presupuestoSqlInterceptor, "presupuestoDefecto", 30);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package co.udistrital.academia.service;
+
+import co.udistrital.academia.dto.CalificacionRequest;
+import co.udistrital.academia.dto.CalificacionResponse;
+import co.udistrital.academia.exception.InvalidOperationException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * El listado paginado de calificaciones sale de la proyección CalificacionFila: una consulta
+ * para la página y otra para el total, sin cargar entidades ni asociaciones perezosas.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class CalificacionServiceTest {
+
+    @Autowired
+    private CalificacionService calificacionService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void limpiarEstadisticas() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.clear();
+    }
+
+    @Test
+    void listadoPaginadoUsaDosSentencias() {
+        Page<CalificacionResponse> pagina = calificacionService.listarCalificacionesPaginadas(
+                PageRequest.of(0, 5), null, null);
+
+        assertThat(pagina.getContent()).hasSize(5);
+        assertThat(pagina.getTotalElements()).isGreaterThan(5);
+        assertThat(pagina.getContent()).allSatisfy(c -> {
+            assertThat(c.logro().nombre()).isNotNull();
+            assertThat(c.estudiante().nombre()).isNotNull();
+        });
+        assertThat(estadisticas.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void listadoPaginadoPorEstudianteUsaDosSentencias() {
+        Long estudianteId = calificacionService.listarCalificacionesPaginadas(PageRequest.of(0, 1), null, null)
+                .getContent().get(0).estudiante().id();
+        estadisticas.clear();
+
+        Page<CalificacionResponse> pagina = calificacionService.listarCalificacionesPaginadas(
+                PageRequest.of(0, 2), estudianteId, null);
+
+        assertThat(pagina.getContent()).isNotEmpty()
+                .allSatisfy(c -> assertThat(c.estudiante().id()).isEqualTo(estudianteId));
+        assertThat(estadisticas.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(estadisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void paginasConsecutivasSiguenElOrdenPorId() {
+        List<Long> ids = new ArrayList<>();
+        for (int pagina = 0; pagina < 3; pagina++) {
+            calificacionService.listarCalificacionesPaginadas(PageRequest.of(pagina, 5), null, null)
+                    .forEach(c -> ids.add(c.id()));
+        }
+
+        assertThat(ids).hasSize(15).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @WithMockUser(username = "profesor1@academia.ud", roles = "PROFESOR")
+    void crearCalificacionRechazaLogroYaCalificadoEnElPeriodo() {
+        CalificacionResponse existente = calificacionService.listarCalificacionesPaginadas(
+                PageRequest.of(0, 1), null, null).getContent().get(0);
+
+        CalificacionRequest repetida = new CalificacionRequest(
+                4.0, existente.periodo(), existente.logro().id(), existente.estudiante().id());
+
+        assertThatThrownBy(() -> calificacionService.crearCalificacion(repetida))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("Ya existe una calificación");
+    }
+}
@@ -0,0 +1,30 @@
+package co.udistrital.academia.service;
+
+import co.udistrital.academia.entity.Grupo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static co.udistrital.academia.support.SentenciasSql.afirmarMaximo;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * obtenerGrupo es una búsqueda por id (con la cache de segundo nivel, a veces ninguna sentencia).
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class GrupoServiceTest {
+
+    @Autowired
+    private GrupoService grupoService;
+
+    @Test
+    void obtenerGrupoUsaUnaSentencia() {
+        Grupo[] grupo = new Grupo[1];
+
+        afirmarMaximo(1, () -> grupo[0] = grupoService.obtenerGrupo(1L));
+
+        assertThat(grupo[0].getId()).isEqualTo(1L);
+    }
+}
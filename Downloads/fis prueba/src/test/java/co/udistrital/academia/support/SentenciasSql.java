@@ -0,0 +1,35 @@
+package co.udistrital.academia.support;
+
+import co.udistrital.academia.config.ContadorSentencias;
+
+/**
+ * Cuenta las sentencias SQL que prepara una acción en el hilo de la prueba, con el mismo
+ * ContadorSentencias que mide las peticiones. Para endpoints completos las pruebas usan
+ * sql.presupuesto.modo=rechazar (application-test.properties).
+ */
+public final class SentenciasSql {
+
+    private SentenciasSql() {
+    }
+
+    public static int contar(Runnable accion) {
+        ContadorSentencias.iniciar();
+        try {
+            accion.run();
+            return ContadorSentencias.actual();
+        } finally {
+            ContadorSentencias.detener();
+        }
+    }
+
+    /**
+     * Falla si la acción prepara más de maximo sentencias, por ejemplo
+     * {@code afirmarMaximo(1, () -> grupoService.obtenerGrupo(1L))}.
+     */
+    public static void afirmarMaximo(int maximo, Runnable accion) {
+        int sentencias = contar(accion);
+        if (sentencias > maximo) {
+            throw new AssertionError("Se esperaban como máximo " + maximo + " sentencias SQL y se ejecutaron " + sentencias);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package co.udistrital.academia.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos fallos simultáneos de la misma clave dejan un solo archivo, y el contador de bytes
+ * en disco coincide con él.
+ */
+class PdfCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private PdfCache cache;
+
+    @BeforeEach
+    void crearCache() throws Exception {
+        cache = new PdfCache();
+        ReflectionTestUtils.setField(cache, "directorio", dir.toString());
+        ReflectionTestUtils.setField(cache, "memoriaMaxBytes", 1L << 20);
+        ReflectionTestUtils.setField(cache, "discoMaxBytes", 1L << 20);
+        ReflectionTestUtils.setField(cache, "entradaMaxBytes", 1L << 20);
+        cache.init();
+    }
+
+    @Test
+    void fallosSimultaneosCuentanLosBytesUnaSolaVez() throws Exception {
+        byte[] documento = new byte[1000];
+        CountDownLatch ambosGenerando = new CountDownLatch(2);
+        PdfCache.Render render = out -> {
+            ambosGenerando.countDown();
+            try {
+                ambosGenerando.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.write(documento);
+        };
+
+        CompletableFuture<Void> primero = CompletableFuture.runAsync(() -> servir(render));
+        CompletableFuture<Void> segundo = CompletableFuture.runAsync(() -> servir(render));
+        CompletableFuture.allOf(primero, segundo).get(10, TimeUnit.SECONDS);
+
+        try (Stream<Path> archivos = Files.list(dir)) {
+            assertThat(archivos).hasSize(1);
+        }
+        AtomicLong discoBytes = (AtomicLong) ReflectionTestUtils.getField(cache, "discoBytes");
+        assertThat(discoBytes.get()).isEqualTo(documento.length);
+    }
+
+    private void servir(PdfCache.Render render) {
+        try {
+            cache.servir("boletin_1", "huella", new ByteArrayOutputStream(), render);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
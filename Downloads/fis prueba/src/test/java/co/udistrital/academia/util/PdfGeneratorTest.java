@@ -0,0 +1,64 @@
+package co.udistrital.academia.util;
+
+import co.udistrital.academia.dto.CalificacionFila;
+import co.udistrital.academia.dto.EstudianteBoletin;
+import co.udistrital.academia.dto.PromedioPeriodo;
+import co.udistrital.academia.entity.Estudiante;
+import co.udistrital.academia.entity.Logro;
+import co.udistrital.academia.service.EstadisticaService;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfReader;
+import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Los periodos del boletín salen de las calificaciones: si resumen_calificacion no tiene un periodo,
+ * sus calificaciones se listan igual.
+ */
+@SpringBootTest
+@ActiveProfiles({"dev", "test"})
+class PdfGeneratorTest {
+
+    @Autowired
+    private PdfGenerator pdfGenerator;
+
+    @Test
+    void boletinListaPeriodosAusentesDelResumen() throws IOException {
+        EstudianteBoletin estudiante = new EstudianteBoletin(1L, "Ana", "Pérez", "Jardín", "Jardín A");
+        List<CalificacionFila> filas = List.of(fila(1L, 4.0, 1, "Salta con ambos pies"),
+                fila(2L, 2.0, 2, "Mantiene el equilibrio"));
+        // El resumen solo conoce el periodo 1
+        var estadistica = EstadisticaService.resumir(1L,
+                List.of(new PromedioPeriodo(1L, 1, 1L, 4.0, 4.0, 4.0)));
+
+        byte[] pdf = pdfGenerator.generarBoletin(estudiante, filas, null, estadistica);
+
+        String texto = texto(pdf);
+        assertThat(texto).contains("Periodo 1", "Periodo 2", "Mantiene el equilibrio", "2.00 - REPROBADO");
+    }
+
+    private static CalificacionFila fila(Long id, double valor, int periodo, String logro) {
+        return new CalificacionFila(id, valor, periodo, id, logro, "", Logro.Categoria.AREA_MOTRIZ,
+                Logro.EstadoLogro.ACTIVO, 1L, "Ana", "Pérez", "Jardín", "RC-1",
+                Estudiante.EstadoEstudiante.ACTIVO, "Profesor");
+    }
+
+    private static String texto(byte[] pdf) throws IOException {
+        StringBuilder texto = new StringBuilder();
+        try (PdfDocument documento = new PdfDocument(new PdfReader(new ByteArrayInputStream(pdf)))) {
+            for (int i = 1; i <= documento.getNumberOfPages(); i++) {
+                texto.append(PdfTextExtractor.getTextFromPage(documento.getPage(i)));
+            }
+        }
+        return texto.toString();
+    }
+}